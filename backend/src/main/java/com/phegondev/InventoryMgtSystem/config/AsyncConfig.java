@@ -0,0 +1,14 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Turns on {@code @Async}. The executor is Spring Boot's applicationTaskExecutor,
+ * which is a pooled executor by default and a virtual thread per task when
+ * {@code spring.threads.virtual.enabled} (VIRTUAL_THREADS) is set.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
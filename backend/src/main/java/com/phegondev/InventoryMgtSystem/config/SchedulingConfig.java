@@ -0,0 +1,13 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled}. The only job is the search index reconcile in
+ * SearchIndexLoader, run on Spring Boot's single-threaded taskScheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,39 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.Caching;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Hands Hibernate the Caffeine cache manager behind the second-level cache.
+ * <p>
+ * The JCache provider shares one manager per URI across the whole JVM, so every
+ * application context (and every test context) would read the same regions even
+ * when it talks to a different database. Each context builds its own instead;
+ * region sizes come from hibernate-caches.conf.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String CACHE_CONFIG = "hibernate-caches.conf";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager() throws IOException {
+        CacheManagerImpl cacheManager = new CacheManagerImpl(
+                Caching.getCachingProvider(CaffeineCachingProvider.class.getName()),
+                false,
+                new ClassPathResource(CACHE_CONFIG).getURI(),
+                getClass().getClassLoader(),
+                new Properties());
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
@@ -1,19 +1,28 @@
 package com.phegondev.InventoryMgtSystem.config;
 
+import com.phegondev.InventoryMgtSystem.storage.BlobStorage;
+import com.phegondev.InventoryMgtSystem.storage.LocalBlobStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
 
+//uploads on local disk are served from here, with S3 storage UploadsController redirects to the bucket instead
 @Configuration
+@RequiredArgsConstructor
 public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<BlobStorage> blobStorage;
+
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
 
-        String uploadPath = "file:" + System.getProperty("user.dir") + "/uploads/";
-
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadPath);
+        if (blobStorage.getIfAvailable() instanceof LocalBlobStorage localBlobStorage) {
+            registry.addResourceHandler("/" + BlobStorage.PUBLIC_PATH + "**")
+                    .addResourceLocations(localBlobStorage.getRoot().toUri().toString())
+                    .setCacheControl(BlobStorage.CACHE_CONTROL);
+        }
     }
 }
-
@@ -0,0 +1,78 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.storage.BlobStorage;
+import com.phegondev.InventoryMgtSystem.storage.LocalBlobStorage;
+import com.phegondev.InventoryMgtSystem.storage.S3BlobStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Picks the {@link BlobStorage} from {@code app.storage.type}: {@code local}
+ * (the default) keeps files on this node's disk, {@code s3} puts them in a
+ * bucket every node shares. S3 credentials come from the SDK's default chain
+ * (AWS_ACCESS_KEY_ID / AWS_SECRET_ACCESS_KEY, profile or instance role).
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStorage localBlobStorage(@Value("${app.storage.local.root:${user.dir}/uploads}") String root) {
+        return new LocalBlobStorage(Path.of(root));
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    static class S3StorageConfig {
+
+        @Value("${app.storage.s3.region:us-east-1}")
+        private String region;
+
+        //set both to use MinIO or another S3-compatible stand-in, e.g. http://localhost:9000
+        @Value("${app.storage.s3.endpoint:}")
+        private String endpoint;
+
+        @Value("${app.storage.s3.path-style:false}")
+        private boolean pathStyle;
+
+        @Bean(destroyMethod = "close")
+        public S3Client s3Client() {
+            var builder = S3Client.builder()
+                    .region(Region.of(region))
+                    .forcePathStyle(pathStyle);
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public S3Presigner s3Presigner() {
+            var builder = S3Presigner.builder()
+                    .region(Region.of(region))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public BlobStorage s3BlobStorage(S3Client s3Client, S3Presigner s3Presigner,
+                                         @Value("${app.storage.s3.bucket}") String bucket,
+                                         @Value("${app.storage.s3.public-url:}") String publicUrl,
+                                         @Value("${app.storage.s3.presign-ttl:15m}") Duration presignTtl) {
+            return new S3BlobStorage(s3Client, s3Presigner, bucket, publicUrl, presignTtl);
+        }
+    }
+}
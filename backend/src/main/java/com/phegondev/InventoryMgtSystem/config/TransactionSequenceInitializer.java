@@ -0,0 +1,54 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the transactions_seq sequence ahead of the ids already in the
+ * transactions table.
+ * <p>
+ * Transaction ids used to come from the identity column. On an existing
+ * install, {@code ddl-auto=update} creates the sequence starting at 1, so new
+ * transactions would collide with the old ids. Rows written with explicit ids,
+ * like the seeded ones, cause the same problem. The sequence is moved past
+ * {@code max(id)} once all singletons exist, which is after the schema update
+ * and before the web server takes requests. The seeder calls {@link #align()}
+ * again after it writes its transactions.
+ * <p>
+ * With the pooled optimizer Hibernate hands out the block below the value it
+ * reads, hence the extra allocation size of headroom.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSequenceInitializer implements SmartInitializingSingleton {
+
+    //must match the allocationSize of the generator on Transaction.id
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        align();
+    }
+
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from transactions", Long.class);
+        long next = (maxId == null ? 0 : maxId) + 1 + ALLOCATION_SIZE;
+
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(database)) {
+            //only ever forward: another node may hold a block handed out above max(id)
+            int moved = jdbcTemplate.update("update transactions_seq set next_val = ? where next_val < ?", next, next);
+            if (moved > 0) log.info("Moved transactions_seq to {} past the existing transaction ids", next);
+        } else {
+            jdbcTemplate.execute("alter sequence transactions_seq restart with " + next);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.phegondev.InventoryMgtSystem.controllers;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.services.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+//aggregates served from the rollup tables, from inclusive and to exclusive, defaulting to the current month
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<Response> getSummary(
+            @RequestParam(defaultValue = "DAY") RollupPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        return ResponseEntity.ok(analyticsService.getSummary(period, start, to != null ? to : start.plusMonths(1)));
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<Response> getTopProducts(
+            @RequestParam(defaultValue = "SALE") TransactionType transactionType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        return ResponseEntity.ok(analyticsService.getTopProducts(transactionType, start, to != null ? to : start.plusMonths(1), limit));
+    }
+
+    @GetMapping("/suppliers")
+    public ResponseEntity<Response> getTopSuppliers(
+            @RequestParam(defaultValue = "PURCHASE") TransactionType transactionType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        return ResponseEntity.ok(analyticsService.getTopSuppliers(transactionType, start, to != null ? to : start.plusMonths(1), limit));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> rebuildRollups() {
+        return ResponseEntity.ok(analyticsService.rebuildRollups());
+    }
+}
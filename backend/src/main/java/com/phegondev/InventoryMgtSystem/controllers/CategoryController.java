@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -25,7 +26,10 @@ public class CategoryController {
 
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllCategories() {
+    public ResponseEntity<Response> getAllCategories(ServletWebRequest request) {
+        if (ConditionalGet.notModified(request, categoryService.getCategoriesVersion())) {
+            return null;
+        }
         return ResponseEntity.ok(categoryService.getAllCategories());
     }
 
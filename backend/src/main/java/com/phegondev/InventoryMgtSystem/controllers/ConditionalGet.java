@@ -0,0 +1,31 @@
+package com.phegondev.InventoryMgtSystem.controllers;
+
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GETs for read endpoints whose data is versioned by a {@link VersionStamp}.
+ * <p>
+ * Responses stay private (they sit behind a bearer token) and are revalidated on
+ * every use, so a change is never hidden by a stale copy, but a repeat load of an
+ * unchanged list costs one cached aggregate query and an empty 304.
+ */
+final class ConditionalGet {
+
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    //true when the client's copy is current and the 304 has been written; ETag and Last-Modified go out either way
+    static boolean notModified(ServletWebRequest request, VersionStamp version) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        }
+        return request.checkNotModified(version.etag(), version.lastModifiedMillis());
+    }
+}
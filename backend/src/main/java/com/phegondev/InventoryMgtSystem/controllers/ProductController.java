@@ -10,13 +10,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.phegondev.InventoryMgtSystem.dtos.ImageUploadRequest;
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductListRequest;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
+import com.phegondev.InventoryMgtSystem.services.ProductImportService;
 import com.phegondev.InventoryMgtSystem.services.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,11 +34,13 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @PostMapping("/add")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> saveProduct(
             @RequestParam(value = "imageFile", required = false) MultipartFile imageFile,
+            @RequestParam(value = "imageKey", required = false) String imageKey,
             @RequestParam("name") String name,
             @RequestParam("sku") String sku,
             @RequestParam("price") BigDecimal price,
@@ -49,14 +58,33 @@ public class ProductController {
         productDTO.setCategoryId(categoryId);
         productDTO.setSupplierId(supplierId);
         productDTO.setDescription(description);
+        productDTO.setImageKey(imageKey);
 
         return ResponseEntity.ok(productService.saveProduct(productDTO, imageFile));
     }
 
+    //a presigned PUT so the browser sends the image to storage itself, then saves the product with its key
+    @PostMapping("/image-uploads")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> requestImageUpload(@RequestBody ImageUploadRequest request) {
+        return ResponseEntity.ok(productService.requestImageUpload(request));
+    }
+
+    //CSV with a header row, or a JSON array / newline-delimited objects; rows are upserted by sku
+    @PostMapping("/import")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> importProducts(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        return ResponseEntity.ok(productImportService.importProducts(file, format));
+    }
+
     @PutMapping("/update")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> updateProduct(
             @RequestParam(value = "imageFile", required = false) MultipartFile imageFile,
+            @RequestParam(value = "imageKey", required = false) String imageKey,
             @RequestParam(value = "name", required = false) String name,
             @RequestParam(value = "sku", required = false) String sku,
             @RequestParam(value = "price", required = false) BigDecimal price,
@@ -75,17 +103,47 @@ public class ProductController {
         productDTO.setSupplierId(supplierId);
         productDTO.setCategoryId(categoryId);
         productDTO.setDescription(description);
+        productDTO.setImageKey(imageKey);
 
         return ResponseEntity.ok(productService.updateProduct(productDTO, imageFile));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<PageResponse<ProductDTO>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) Integer minStock,
+            @RequestParam(required = false) Integer maxStock,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        ProductListRequest listRequest = new ProductListRequest();
+        listRequest.setCursor(cursor);
+        listRequest.setSize(size);
+        listRequest.setSortBy(sortBy);
+        listRequest.setCategoryId(categoryId);
+        listRequest.setSupplierId(supplierId);
+        listRequest.setMinStock(minStock);
+        listRequest.setMaxStock(maxStock);
+        listRequest.setIncludeTotal(includeTotal);
+
+        return ResponseEntity.ok(productService.getAllProducts(listRequest));
+    }
+
+    @GetMapping("/options")
+    public ResponseEntity<Response> getProductOptions() {
+        return ResponseEntity.ok(productService.getProductOptions());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Response> getProductById(@PathVariable Long id) {
+    public ResponseEntity<Response> getProductById(@PathVariable Long id, ServletWebRequest request) {
+        //an unknown id falls through to the usual 404
+        VersionStamp version = productService.getProductVersion(id);
+        if (!version.isEmpty() && ConditionalGet.notModified(request, version)) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getProductById(id));
     }
 
@@ -95,8 +153,11 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Response> searchProduct(@RequestParam(name = "searchValue") String input) {
-        return ResponseEntity.ok(productService.searchProduct(input));
+    public ResponseEntity<Response> searchProduct(
+            @RequestParam(name = "searchValue") String input,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(productService.searchProduct(input, page, size));
     }
 }
 
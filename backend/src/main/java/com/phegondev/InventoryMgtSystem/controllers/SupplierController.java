@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/suppliers")
@@ -25,10 +26,18 @@ public class SupplierController {
 
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllSuppliers() {
+    public ResponseEntity<Response> getAllSuppliers(ServletWebRequest request) {
+        if (ConditionalGet.notModified(request, supplierService.getSuppliersVersion())) {
+            return null;
+        }
         return ResponseEntity.ok(supplierService.getAllSupplier());
     }
 
+    @GetMapping("/options")
+    public ResponseEntity<Response> getSupplierOptions() {
+        return ResponseEntity.ok(supplierService.getSupplierOptions());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Response> getSupplierById(@PathVariable Long id) {
         return ResponseEntity.ok(supplierService.getSupplierById(id));
@@ -1,13 +1,35 @@
 package com.phegondev.InventoryMgtSystem.controllers;
 
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionBatchRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionListRequest;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
+import com.phegondev.InventoryMgtSystem.enums.ExportFormat;
 import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.services.TransactionExportService;
+import com.phegondev.InventoryMgtSystem.services.TransactionExportService.ExportSlot;
 import com.phegondev.InventoryMgtSystem.services.TransactionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -16,6 +38,11 @@ public class TransactionController {
 
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+
+    //only the export runs this long, other async requests keep the container's default
+    @Value("${app.export.timeout:30m}")
+    private Duration exportTimeout;
 
     @PostMapping("/purchase")
     public ResponseEntity<Response> purchaseInventory(@RequestBody @Valid TransactionRequest transactionRequest) {
@@ -32,14 +59,74 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.returnToSupplier(transactionRequest));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Response> processBatch(@RequestBody @Valid TransactionBatchRequest batchRequest) {
+        return ResponseEntity.ok(transactionService.processBatch(batchRequest));
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllTransactions(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "1000") int size,
+    public ResponseEntity<PageResponse<TransactionDTO>> getAllTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) TransactionType transactionType,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String text,
             @RequestParam(required = false) String filter) {
 
-        System.out.println("SEARCH VALUE IS: " +filter);
-        return ResponseEntity.ok(transactionService.getAllTransactions(page, size, filter));
+        //"filter" is the old single search box, now served by the same text search
+        TransactionFilterRequest filterRequest = toFilterRequest(transactionType, status, from, to,
+                productId, supplierId, userId, text != null ? text : filter);
+
+        //cursor is the nextCursor of the previous page
+        TransactionListRequest listRequest = new TransactionListRequest(cursor, size, includeTotal);
+
+        return ResponseEntity.ok(transactionService.getAllTransactions(listRequest, filterRequest));
+    }
+
+    //same filters as /all, written row by row as the cursor advances instead of one page at a time
+    @GetMapping("/export")
+    public WebAsyncTask<Object> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) TransactionType transactionType,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String text,
+            HttpServletResponse response) {
+
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        TransactionFilterRequest filterRequest = toFilterRequest(transactionType, status, from, to,
+                productId, supplierId, userId, text);
+
+        //the slot is taken here so a full house is a 429, not a broken stream after a 200; it is given back
+        //however the request ends, including when the export never starts
+        ExportSlot slot = transactionExportService.reserveSlot();
+        WebAsyncTask<Object> task = new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            try (slot) {
+                transactionExportService.export(filterRequest, exportFormat, attachment(response, exportFormat));
+            }
+            return null;
+        });
+        //the default timeout and error handling still run after these
+        task.onTimeout(() -> {
+            slot.close();
+            return CallableProcessingInterceptor.RESULT_NONE;
+        });
+        task.onError(() -> {
+            slot.close();
+            return CallableProcessingInterceptor.RESULT_NONE;
+        });
+        task.onCompletion(slot::close);
+        return task;
     }
 
 
@@ -51,9 +138,11 @@ public class TransactionController {
     @GetMapping("/by-month-year")
     public ResponseEntity<Response> getTransactionByMonthAndYear(
             @RequestParam int month,
-            @RequestParam int year) {
+            @RequestParam int year,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
 
-        return ResponseEntity.ok(transactionService.getAllTransactionByMonthAndYear(month, year));
+        return ResponseEntity.ok(transactionService.getAllTransactionByMonthAndYear(month, year, page, size));
     }
 
     @PutMapping("/{transactionId}")
@@ -64,5 +153,55 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.updateTransactionStatus(transactionId, status));
     }
 
+    //the attachment headers go out with the first byte, so an export that fails before writing anything
+    //is still answered with the usual JSON error
+    private static OutputStream attachment(HttpServletResponse response, ExportFormat format) throws IOException {
+        return new FilterOutputStream(response.getOutputStream()) {
+
+            private boolean started;
+
+            @Override
+            public void write(int b) throws IOException {
+                start();
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                start();
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                start();
+                out.flush();
+            }
+
+            private void start() {
+                if (started) return;
+                started = true;
+                response.setContentType(format.getContentType());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + format.getExtension())
+                        .build()
+                        .toString());
+            }
+        };
+    }
 
+    private TransactionFilterRequest toFilterRequest(TransactionType transactionType, TransactionStatus status,
+                                                     LocalDateTime from, LocalDateTime to, Long productId,
+                                                     Long supplierId, Long userId, String text) {
+        TransactionFilterRequest filterRequest = new TransactionFilterRequest();
+        filterRequest.setTransactionType(transactionType);
+        filterRequest.setStatus(status);
+        filterRequest.setFrom(from);
+        filterRequest.setTo(to);
+        filterRequest.setProductId(productId);
+        filterRequest.setSupplierId(supplierId);
+        filterRequest.setUserId(userId);
+        filterRequest.setText(text);
+        return filterRequest;
+    }
 }
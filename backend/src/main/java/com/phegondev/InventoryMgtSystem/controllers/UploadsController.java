@@ -0,0 +1,47 @@
+package com.phegondev.InventoryMgtSystem.controllers;
+
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.storage.BlobStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+//with S3 storage the stored /uploads paths redirect to the bucket, so image bytes never pass through here
+@RestController
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class UploadsController {
+
+    private final BlobStorage blobStorage;
+
+    //a presigned link must not be reused after it expires, so the redirect is cached for half its lifetime
+    private final CacheControl redirectCacheControl;
+
+    public UploadsController(BlobStorage blobStorage,
+                             @Value("${app.storage.s3.presign-ttl:15m}") Duration presignTtl) {
+        this.blobStorage = blobStorage;
+        this.redirectCacheControl = CacheControl.maxAge(presignTtl.dividedBy(2)).cachePrivate();
+    }
+
+    @GetMapping("/" + BlobStorage.PUBLIC_PATH + "**")
+    public ResponseEntity<Void> redirectToBlob(HttpServletRequest request) {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = UriUtils.decode(path.substring(BlobStorage.PUBLIC_PATH.length() + 1), StandardCharsets.UTF_8);
+
+        return blobStorage.directUrl(key)
+                .map(location -> ResponseEntity.status(HttpStatus.FOUND)
+                        .location(location)
+                        .cacheControl(redirectCacheControl)
+                        .<Void>build())
+                .orElseThrow(() -> new NotFoundException("File Not Found"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImageUploadDTO {
+
+    //sent back as imageKey when the product is saved
+    private String key;
+
+    //the same bytes are stored already, nothing to upload
+    private boolean stored;
+
+    //PUT the file here with these headers, unless stored
+    private String uploadUrl;
+    private Map<String, String> headers;
+    private Instant expiresAt;
+}
@@ -0,0 +1,17 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageUploadRequest {
+
+    private String contentType;
+    private Long size;
+
+    //hex SHA-256 of the file, computed by the browser; the image key is derived from it
+    private String sha256;
+}
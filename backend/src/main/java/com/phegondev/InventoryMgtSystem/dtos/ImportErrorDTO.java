@@ -0,0 +1,18 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportErrorDTO {
+
+    //1 is the first product in the file, whatever the format
+    private long row;
+    private String sku;
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReportDTO {
+
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long failed;
+
+    //round trips to the database, one per batch unless a batch had to be retried row by row
+    private long batches;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    //capped, "failed" is always the full count
+    private List<ImportErrorDTO> errors;
+    private boolean errorsTruncated;
+}
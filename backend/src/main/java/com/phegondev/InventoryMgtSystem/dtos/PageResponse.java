@@ -0,0 +1,30 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Envelope for paginated lists: just the page, where to continue and, when it
+ * was asked for, the total. The status, message and timestamp of
+ * {@link Response} repeat what the HTTP response already says, so large list
+ * payloads leave them out.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageResponse<T> {
+
+    private List<T> items;
+
+    //opaque, passed back as ?cursor= for the next page; absent on the last page
+    private String nextCursor;
+
+    private Long total;
+}
@@ -35,6 +35,11 @@ public class ProductDTO {
     private String description;
     private LocalDateTime expiryDate;
     private String imageUrl;
+    private String thumbnailUrl;
+    private String mediumImageUrl;
+
+    //an image the browser uploaded straight to storage, see ProductService.requestImageUpload
+    private String imageKey;
 
     private LocalDateTime createdAt;
 
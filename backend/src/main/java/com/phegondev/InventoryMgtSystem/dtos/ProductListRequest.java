@@ -0,0 +1,25 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductListRequest {
+
+    //keyset pagination
+    private String cursor;
+    private Integer size;
+    private String sortBy; // id, name
+
+    //optional filters
+    private Long categoryId;
+    private Long supplierId;
+    private Integer minStock;
+    private Integer maxStock;
+
+    //COUNT(*) is only issued when asked for
+    private boolean includeTotal;
+}
@@ -3,6 +3,7 @@ package com.phegondev.InventoryMgtSystem.dtos;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.projections.OptionView;
 import lombok.Builder;
 import lombok.Data;
 
@@ -25,6 +26,7 @@ public class Response {
     //for pagination
     private Integer totalPages;
     private Long totalElements;
+    private String nextCursor;
 
     //data output optionals
     private UserDTO user;
@@ -42,6 +44,14 @@ public class Response {
     private TransactionDTO transaction;
     private List<TransactionDTO> transactions;
 
+    private List<RollupDTO> rollups;
+
+    private List<OptionView> options;
+
+    private ImportReportDTO importReport;
+
+    private ImageUploadDTO imageUpload;
+
     private final LocalDateTime timestamp = LocalDateTime.now();
 
 
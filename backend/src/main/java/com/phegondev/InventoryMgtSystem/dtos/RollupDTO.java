@@ -0,0 +1,53 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RollupDTO {
+
+    private LocalDate periodStart;
+
+    //product or supplier, only on the per-product and per-supplier totals
+    private Long dimensionId;
+    private String name;
+
+    private TransactionType transactionType;
+    private TransactionStatus status;
+
+    private Long transactionCount;
+    private Long totalProducts;
+    private BigDecimal totalPrice;
+
+    //used by the time series query
+    public RollupDTO(LocalDate periodStart, TransactionType transactionType, TransactionStatus status,
+                     Long transactionCount, Long totalProducts, BigDecimal totalPrice) {
+        this.periodStart = periodStart;
+        this.transactionType = transactionType;
+        this.status = status;
+        this.transactionCount = transactionCount;
+        this.totalProducts = totalProducts;
+        this.totalPrice = totalPrice;
+    }
+
+    //used by the per-dimension totals query
+    public RollupDTO(Long dimensionId, TransactionType transactionType, Long transactionCount, Long totalProducts, BigDecimal totalPrice) {
+        this.dimensionId = dimensionId;
+        this.transactionType = transactionType;
+        this.transactionCount = transactionCount;
+        this.totalProducts = totalProducts;
+        this.totalPrice = totalPrice;
+    }
+}
@@ -0,0 +1,23 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TransactionBatchRequest {
+
+    @Valid
+    @NotEmpty(message = "transactions are required")
+    @Size(max = 1000, message = "a batch can hold at most 1000 transactions")
+    private List<TransactionRequest> transactions;
+}
@@ -0,0 +1,29 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionFilterRequest {
+
+    //exact matches on indexed columns
+    private TransactionType transactionType;
+    private TransactionStatus status;
+    private Long productId;
+    private Long supplierId;
+    private Long userId;
+
+    //createdAt range, from inclusive and to exclusive
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    //prefix match on product name/sku, supplier name, user name/email, or an exact id/status/type
+    private String text;
+}
@@ -0,0 +1,18 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionListRequest {
+
+    //keyset pagination, newest first
+    private String cursor;
+    private Integer size;
+
+    //COUNT(*) is only issued when asked for, and then served from a short-lived cache
+    private boolean includeTotal;
+}
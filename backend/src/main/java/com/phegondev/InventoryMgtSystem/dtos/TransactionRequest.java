@@ -2,7 +2,8 @@ package com.phegondev.InventoryMgtSystem.dtos;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,9 +15,11 @@ import lombok.NoArgsConstructor;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TransactionRequest {
 
+    @NotNull(message = "product id is required")
     @Positive(message = "product id is required")
     private Long productId;
 
+    @NotNull(message = "quantity id is required")
     @Positive(message = "quantity id is required")
     private Integer quantity;
 
@@ -26,5 +29,8 @@ public class TransactionRequest {
 
     private String note;
 
+    //only read by the batch endpoint, each single endpoint implies its own type
+    private TransactionType transactionType;
+
 
 }
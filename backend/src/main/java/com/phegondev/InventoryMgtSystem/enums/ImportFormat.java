@@ -0,0 +1,26 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV, JSON;
+
+    //an explicit ?format= wins, otherwise the file extension decides and CSV is the fallback
+    public static ImportFormat resolve(String parameter, String fileName) {
+        if (parameter != null && !parameter.isBlank()) {
+            for (ImportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(parameter.trim())) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported import format: " + parameter);
+        }
+        if (fileName != null) {
+            String lowerCaseName = fileName.toLowerCase(Locale.ROOT);
+            if (lowerCaseName.endsWith(".json") || lowerCaseName.endsWith(".ndjson")) {
+                return JSON;
+            }
+        }
+        return CSV;
+    }
+}
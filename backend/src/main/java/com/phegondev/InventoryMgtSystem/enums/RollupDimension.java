@@ -0,0 +1,5 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+public enum RollupDimension {
+    TOTAL, PRODUCT, SUPPLIER
+}
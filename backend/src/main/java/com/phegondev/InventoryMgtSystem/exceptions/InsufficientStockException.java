@@ -0,0 +1,7 @@
+package com.phegondev.InventoryMgtSystem.exceptions;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
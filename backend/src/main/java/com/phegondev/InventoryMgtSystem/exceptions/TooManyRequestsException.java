@@ -0,0 +1,7 @@
+package com.phegondev.InventoryMgtSystem.exceptions;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,185 @@
+package com.phegondev.InventoryMgtSystem.images;
+
+import com.phegondev.InventoryMgtSystem.dtos.ImageUploadDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ImageUploadRequest;
+import com.phegondev.InventoryMgtSystem.storage.BlobStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed images in the {@link BlobStorage}, under {@code images/}.
+ * <p>
+ * An upload is streamed to a temporary file while its SHA-256 is computed and
+ * then stored as {@code images/<sha256>.<ext>}. Uploading the same bytes again
+ * finds the key already there and stores nothing, so products sharing a picture
+ * share one original and one set of variants. A key's content never changes,
+ * which is what makes the files safe to cache forever.
+ * <p>
+ * A product form's upload is staged on the request thread, where the multipart
+ * file still exists, and published later off it, once the product is saved.
+ * <p>
+ * With a backend that supports it, the browser can also upload the file to
+ * storage itself: it sends the SHA-256 it computed, gets a presigned PUT for the
+ * matching key, and saves the product with that key. The store checks the bytes
+ * against the signed checksum, so the key holds exactly as it would here.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageStore {
+
+    static final String KEY_PREFIX = "images/";
+
+    //direct uploads are checked before the bytes exist, so their size is capped up front
+    static final long MAX_DIRECT_UPLOAD_SIZE = 50L * 1024 * 1024;
+
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern IMAGE_KEY = Pattern.compile(KEY_PREFIX + "([0-9a-f]{64})\\.[a-z0-9]{1,10}");
+
+    private final BlobStorage blobStorage;
+
+    //both halves of a form upload on the calling thread
+    public StoredImage store(MultipartFile imageFile) {
+        StagedImage staged = stage(imageFile);
+        publish(staged);
+        return staged.image();
+    }
+
+    //the request-thread half: the multipart file is gone once the request ends, so it is copied and hashed here
+    public StagedImage stage(MultipartFile imageFile) {
+
+        String contentType = imageFile.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Only image files allowed");
+        }
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile("upload-", ".part");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream input = new DigestInputStream(imageFile.getInputStream(), digest)) {
+                Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = KEY_PREFIX + hash + "." + extension(contentType);
+            return new StagedImage(new StoredImage(hash, key, BlobStorage.publicPath(key)), temp, contentType);
+
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(temp);
+            log.error("Error saving image: {}", e.getMessage(), e);
+            throw new RuntimeException("Error saving image");
+        }
+    }
+
+    //the half that may run anywhere: stores the staged copy unless the same bytes are already there
+    public void publish(StagedImage staged) {
+        String key = staged.image().key();
+        try {
+            if (blobStorage.exists(key)) {
+                log.debug("Image {} already stored", key);
+            } else {
+                blobStorage.put(key, staged.file(), staged.contentType());
+            }
+        } catch (IOException e) {
+            log.error("Error saving image: {}", e.getMessage(), e);
+            throw new RuntimeException("Error saving image");
+        } finally {
+            deleteQuietly(staged.file());
+        }
+    }
+
+    //a staged upload that will never be published
+    public void discard(StagedImage staged) {
+        deleteQuietly(staged.file());
+    }
+
+    //empty when neither the key is stored yet nor the backend takes direct uploads: send the file instead
+    public Optional<ImageUploadDTO> prepareUpload(ImageUploadRequest request) {
+
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Only image files allowed");
+        }
+        String hash = request.getSha256() == null ? "" : request.getSha256().toLowerCase(Locale.ROOT);
+        if (!SHA_256.matcher(hash).matches()) {
+            throw new IllegalArgumentException("sha256 must be 64 hex characters");
+        }
+        long size = request.getSize() == null ? 0 : request.getSize();
+        if (size <= 0 || size > MAX_DIRECT_UPLOAD_SIZE) {
+            throw new IllegalArgumentException("Image size must be between 1 byte and "
+                    + MAX_DIRECT_UPLOAD_SIZE / (1024 * 1024) + " MB");
+        }
+
+        String key = KEY_PREFIX + hash + "." + extension(contentType);
+        if (blobStorage.exists(key)) {
+            return Optional.of(ImageUploadDTO.builder().key(key).stored(true).build());
+        }
+
+        return blobStorage.presignedUpload(key, contentType, size, HexFormat.of().parseHex(hash))
+                .map(upload -> ImageUploadDTO.builder()
+                        .key(key)
+                        .uploadUrl(upload.url().toString())
+                        .headers(upload.headers())
+                        .expiresAt(upload.expiresAt())
+                        .build());
+    }
+
+    //an image the browser put in storage after prepareUpload
+    public StoredImage uploaded(String key) {
+        Matcher matcher = IMAGE_KEY.matcher(key);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        if (!blobStorage.exists(key)) {
+            throw new IllegalArgumentException("Image has not been uploaded");
+        }
+        return new StoredImage(matcher.group(1), key, BlobStorage.publicPath(key));
+    }
+
+    public String variantKey(StoredImage image, ImageVariant variant) {
+        return KEY_PREFIX + image.hash() + "-" + variant.getSuffix() + ".jpg";
+    }
+
+    public String variantUrl(StoredImage image, ImageVariant variant) {
+        return BlobStorage.publicPath(variantKey(image, variant));
+    }
+
+    //from the content type rather than the client's file name, which is never used in a key
+    private static String extension(String contentType) {
+        String subtype = contentType.substring("image/".length()).toLowerCase(Locale.ROOT);
+        int parameters = subtype.indexOf(';');
+        if (parameters >= 0) subtype = subtype.substring(0, parameters).trim();
+
+        if (subtype.equals("jpeg") || subtype.equals("pjpeg")) return "jpg";
+        if (subtype.equals("svg+xml")) return "svg";
+        return SAFE_EXTENSION.matcher(subtype).matches() ? subtype : "img";
+    }
+
+    static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.phegondev.InventoryMgtSystem.images;
+
+//resized JPEG renditions of an uploaded image, each fitted inside a square of maxDimension pixels
+public enum ImageVariant {
+    THUMBNAIL(320, "thumb"),
+    MEDIUM(1024, "medium");
+
+    private final int maxDimension;
+    private final String suffix;
+
+    ImageVariant(int maxDimension, String suffix) {
+        this.maxDimension = maxDimension;
+        this.suffix = suffix;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+}
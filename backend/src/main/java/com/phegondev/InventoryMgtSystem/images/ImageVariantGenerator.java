@@ -0,0 +1,197 @@
+package com.phegondev.InventoryMgtSystem.images;
+
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.storage.BlobStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Builds the {@link ImageVariant} renditions of a stored upload off the request
+ * thread and records their URLs on the product. An upload sent with the product
+ * form is stored here too, before its variants; if that fails the product stops
+ * showing it.
+ * <p>
+ * The original is decoded once, subsampled while reading so a large photo is
+ * never held in memory at full resolution, and each variant is scaled down from
+ * that in halving steps. Variants already on disk (the same bytes uploaded
+ * before) are reused. The product is only updated if it still shows this image,
+ * so a slow rendering never overwrites a newer upload.
+ * <p>
+ * Renditions are JPEG only: the JDK's ImageIO has no WebP writer.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantGenerator {
+
+    //refuse to decode anything larger, a tiny file can declare enormous dimensions
+    static final long MAX_PIXELS = 100_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ImageStore imageStore;
+    private final BlobStorage blobStorage;
+    private final ProductRepository productRepository;
+
+
+    @Async
+    public void generate(Long productId, StoredImage image) {
+        render(productId, image);
+    }
+
+    //a form upload: its original is stored first, so neither write holds up the request that sent it
+    @Async
+    public void generate(Long productId, StagedImage staged) {
+        StoredImage image = staged.image();
+        try {
+            imageStore.publish(staged);
+        } catch (RuntimeException e) {
+            log.error("Could not store {} for product {}: {}", image.key(), productId, e.getMessage());
+            productRepository.clearImage(productId, image.url());
+            return;
+        }
+        render(productId, image);
+    }
+
+    private void render(Long productId, StoredImage image) {
+        Map<ImageVariant, String> urls = createVariants(image);
+        if (urls.isEmpty()) return;
+
+        int updated = productRepository.updateImageVariants(productId, image.url(),
+                urls.get(ImageVariant.THUMBNAIL), urls.get(ImageVariant.MEDIUM));
+        if (updated == 0) {
+            log.debug("Product {} no longer shows {}, variants not recorded", productId, image.url());
+        }
+    }
+
+    //variant URLs, empty when the original cannot be decoded (it is then only served as uploaded)
+    public Map<ImageVariant, String> createVariants(StoredImage image) {
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        try {
+            BufferedImage decoded = null;
+            for (ImageVariant variant : ImageVariant.values()) {
+                String key = imageStore.variantKey(image, variant);
+                if (!blobStorage.exists(key)) {
+                    if (decoded == null) {
+                        decoded = decode(image, largestDimension());
+                        if (decoded == null) return Map.of();
+                    }
+                    writeJpeg(resize(decoded, variant.getMaxDimension()), key);
+                }
+                urls.put(variant, imageStore.variantUrl(image, variant));
+            }
+            return urls;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not create variants of {}: {}", image.url(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static int largestDimension() {
+        int largest = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            largest = Math.max(largest, variant.getMaxDimension());
+        }
+        return largest;
+    }
+
+    //reads every n-th pixel so the decoded image is at most about twice the size needed
+    private BufferedImage decode(StoredImage image, int maxDimension) throws IOException {
+        try (InputStream original = blobStorage.open(image.key());
+             ImageInputStream input = ImageIO.createImageInputStream(original)) {
+            if (input == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    log.warn("Image {} is {}x{}, too large to render variants", image.key(), width, height);
+                    return null;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (maxDimension * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage resize(BufferedImage source, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        //bilinear scaling drops detail beyond a factor of two, so halve in steps first
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    //RGB on white: JPEG has no alpha channel
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, String key) throws IOException {
+        Path temp = Files.createTempFile("variant-", ".jpg");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+
+            //rendered concurrently from the same original, either copy will do
+            blobStorage.put(key, temp, "image/jpeg");
+        } finally {
+            ImageStore.deleteQuietly(temp);
+        }
+    }
+}
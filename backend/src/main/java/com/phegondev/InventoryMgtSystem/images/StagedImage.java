@@ -0,0 +1,7 @@
+package com.phegondev.InventoryMgtSystem.images;
+
+import java.nio.file.Path;
+
+//a form upload copied to local disk and hashed, not yet in storage under its key
+public record StagedImage(StoredImage image, Path file, String contentType) {
+}
@@ -0,0 +1,5 @@
+package com.phegondev.InventoryMgtSystem.images;
+
+//an original upload, stored under a key derived from the SHA-256 of its bytes
+public record StoredImage(String hash, String key, String url) {
+}
@@ -0,0 +1,107 @@
+package com.phegondev.InventoryMgtSystem.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 reader: comma separated, fields optionally wrapped in double quotes,
+ * a doubled quote inside a quoted field is a literal quote, and quoted fields
+ * may span lines. The first record is the header; blank lines are skipped and a
+ * UTF-8 byte order mark (as written by Excel) is ignored.
+ */
+class CsvRecordReader implements ImportRecordReader {
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final List<String> header;
+    private int pending = -2;
+
+    CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        if (peek() == BYTE_ORDER_MARK) {
+            read();
+        }
+
+        List<String> columns = readRecord();
+        if (columns == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        header = columns.stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) return null;
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            record.put(header.get(i), values.get(i));
+        }
+        return record;
+    }
+
+    private List<String> readRecord() throws IOException {
+        if (peek() == -1) return null;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                } else if (c == '"' && peek() == '"') {
+                    read();
+                    field.append('"');
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                values.add(field.toString());
+                return values;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        pending = -2;
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (pending == -2) {
+            pending = reader.read();
+        }
+        return pending;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.phegondev.InventoryMgtSystem.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phegondev.InventoryMgtSystem.enums.ImportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Reads an uploaded file one record at a time, so an import never holds more
+ * than the current row of the file in memory.
+ * <p>
+ * Every record is a map from lower-cased column (CSV) or field (JSON) name to
+ * its raw text; parsing and validating the values is left to the caller.
+ * Malformed input surfaces as an {@link IOException} from {@link #next()}.
+ */
+public interface ImportRecordReader extends Closeable {
+
+    //null once the input is exhausted
+    Map<String, String> next() throws IOException;
+
+    static ImportRecordReader open(InputStream inputStream, ImportFormat format, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRecordReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+            case JSON -> new JsonRecordReader(inputStream, objectMapper);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.phegondev.InventoryMgtSystem.imports;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads either a top-level JSON array of objects or newline-delimited objects,
+ * binding one element at a time. Decimals are kept as BigDecimal so a price
+ * like 19.99 is not routed through a double.
+ */
+class JsonRecordReader implements ImportRecordReader {
+
+    private final MappingIterator<JsonNode> elements;
+
+    JsonRecordReader(InputStream inputStream, ObjectMapper objectMapper) throws IOException {
+        this.elements = objectMapper.readerFor(JsonNode.class)
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readValues(inputStream);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (!elements.hasNextValue()) return null;
+
+        JsonNode element = elements.nextValue();
+        if (!element.isObject()) {
+            throw new IOException("Expected a JSON object but found " + element.getNodeType());
+        }
+
+        Map<String, String> record = new HashMap<>();
+        element.properties().forEach(property -> {
+            JsonNode value = property.getValue();
+            record.put(property.getKey().toLowerCase(Locale.ROOT),
+                    value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString());
+        });
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        elements.close();
+    }
+}
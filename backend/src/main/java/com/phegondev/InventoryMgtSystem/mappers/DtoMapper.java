@@ -0,0 +1,157 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.SupplierDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.UserDTO;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Hand-written entity to DTO mapping for the read paths.
+ * <p>
+ * Each method copies only the fields it names, so associations are touched
+ * only where a method says so. Foreign key ids are read from the association
+ * id, which does not initialise a lazy proxy.
+ */
+@Component
+public class DtoMapper {
+
+    public ProductDTO toProductDTO(Product product) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(product.getId());
+        dto.setProductId(product.getId());
+        dto.setName(product.getName());
+        dto.setSku(product.getSku());
+        dto.setPrice(product.getPrice());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setDescription(product.getDescription());
+        dto.setExpiryDate(product.getExpiryDate());
+        dto.setImageUrl(product.getImageUrl());
+        dto.setThumbnailUrl(product.getThumbnailUrl());
+        dto.setMediumImageUrl(product.getMediumImageUrl());
+        dto.setCreatedAt(product.getCreatedAt());
+
+        if (product.getCategory() != null) {
+            dto.setCategoryId(product.getCategory().getId());
+        }
+        if (product.getSupplier() != null) {
+            dto.setSupplierId(product.getSupplier().getId());
+            dto.setSupplierName(product.getSupplier().getName());
+        }
+        return dto;
+    }
+
+    public ProductDTO toProductDTO(ProductView view) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(view.id());
+        dto.setProductId(view.id());
+        dto.setName(view.name());
+        dto.setSku(view.sku());
+        dto.setPrice(view.price());
+        dto.setStockQuantity(view.stockQuantity());
+        dto.setDescription(view.description());
+        dto.setExpiryDate(view.expiryDate());
+        dto.setImageUrl(view.imageUrl());
+        dto.setThumbnailUrl(view.thumbnailUrl());
+        dto.setCreatedAt(view.createdAt());
+        dto.setCategoryId(view.categoryId());
+        dto.setSupplierId(view.supplierId());
+        dto.setSupplierName(view.supplierName());
+        return dto;
+    }
+
+    public CategoryDTO toCategoryDTO(Category category) {
+        CategoryDTO dto = new CategoryDTO();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        return dto;
+    }
+
+    //loads the products collection
+    public CategoryDTO toCategoryWithProductsDTO(Category category) {
+        CategoryDTO dto = toCategoryDTO(category);
+        if (category.getProducts() != null) {
+            dto.setProducts(toList(category.getProducts(), this::toProductDTO));
+        }
+        return dto;
+    }
+
+    public SupplierDTO toSupplierDTO(Supplier supplier) {
+        SupplierDTO dto = new SupplierDTO();
+        dto.setId(supplier.getId());
+        dto.setName(supplier.getName());
+        dto.setContactInfo(supplier.getContactInfo());
+        dto.setAddress(supplier.getAddress());
+        return dto;
+    }
+
+    //the password hash is never copied to the DTO
+    public UserDTO toUserDTO(User user) {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setName(user.getName());
+        dto.setEmail(user.getEmail());
+        dto.setPhoneNumber(user.getPhoneNumber());
+        dto.setRole(user.getRole());
+        dto.setCreatedAt(user.getCreatedAt());
+        return dto;
+    }
+
+    //flat transaction: product, user and supplier are left out
+    public TransactionDTO toTransactionDTO(Transaction transaction) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(transaction.getId());
+        dto.setTotalProducts(transaction.getTotalProducts());
+        dto.setTotalPrice(transaction.getTotalPrice());
+        dto.setTransactionType(transaction.getTransactionType());
+        dto.setStatus(transaction.getStatus());
+        dto.setDescription(transaction.getDescription());
+        dto.setNote(transaction.getNote());
+        dto.setCreatedAt(transaction.getCreatedAt());
+        dto.setUpdateAt(transaction.getUpdateAt());
+        return dto;
+    }
+
+    //transaction with its product, user and supplier
+    public TransactionDTO toTransactionDetailDTO(Transaction transaction) {
+        TransactionDTO dto = toTransactionDTO(transaction);
+        if (transaction.getProduct() != null) {
+            dto.setProduct(toProductDTO(transaction.getProduct()));
+        }
+        if (transaction.getUser() != null) {
+            dto.setUser(toUserDTO(transaction.getUser()));
+        }
+        if (transaction.getSupplier() != null) {
+            dto.setSupplier(toSupplierDTO(transaction.getSupplier()));
+        }
+        return dto;
+    }
+
+    //transaction with its product only, as listed under a user
+    public TransactionDTO toTransactionWithProductDTO(Transaction transaction) {
+        TransactionDTO dto = toTransactionDTO(transaction);
+        if (transaction.getProduct() != null) {
+            dto.setProduct(toProductDTO(transaction.getProduct()));
+        }
+        return dto;
+    }
+
+    public <S, D> List<D> toList(List<S> source, Function<S, D> mapper) {
+        List<D> result = new ArrayList<>(source.size());
+        for (S item : source) {
+            result.add(mapper.apply(item));
+        }
+        return result;
+    }
+}
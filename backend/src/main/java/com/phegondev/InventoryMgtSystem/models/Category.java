@@ -6,17 +6,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
+@NamedEntityGraph(name = Category.WITH_PRODUCTS,
+        attributeNodes = @NamedAttributeNode(value = "products", subgraph = "products"),
+        subgraphs = @NamedSubgraph(name = "products", attributeNodes = @NamedAttributeNode("supplier")))
 @Data
 @Builder
 public class Category {
 
+    public static final String WITH_PRODUCTS = "Category.withProducts";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,7 +35,12 @@ public class Category {
     @NotBlank(message = "Name is required")
     private String name;
 
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
+    //drives the ETag and Last-Modified of the category list
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    //read-only side, products are never saved or deleted through their category
+    @OneToMany(mappedBy = "category")
     private List<Product> products;
 
     @Override
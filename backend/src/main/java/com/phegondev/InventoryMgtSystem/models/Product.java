@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,11 +16,22 @@ import java.time.LocalDateTime;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "products")
+//updated_at is read by the search index reconcile on every node; (name, id) serves the name-sorted keyset pages
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_products_name_id", columnList = "name, id")
+})
+//associations are lazy; read paths that need them name the graph they load
+@NamedEntityGraph(name = Product.WITH_CATEGORY_AND_SUPPLIER, attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("supplier")
+})
 @Data
 @Builder
 public class Product {
 
+    public static final String WITH_CATEGORY_AND_SUPPLIER = "Product.withCategoryAndSupplier";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,21 +46,31 @@ public class Product {
     @Positive(message = "product price must be a positive value")
     private BigDecimal price;
 
+    //inserted with the product, afterwards only changed through StockLedger so a save never writes back a stale count
     @Min(value = 0, message = "stock quantity cannot be negative")
+    @Column(updatable = false)
     private Integer stockQuantity;
 
     private String description;
     private LocalDateTime expiryDate;
     private String imageUrl;
 
+    //resized renditions of imageUrl, filled in by ImageVariantGenerator once they are rendered
+    private String thumbnailUrl;
+    private String mediumImageUrl;
+
     private final LocalDateTime createdAt = LocalDateTime.now();
 
-    @ManyToOne
+    //drives the ETag and Last-Modified of the product; bulk updates in ProductRepository set it themselves
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
     // Supplier Relationship (NEW)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id")
     private Supplier supplier;
 
@@ -63,7 +85,10 @@ public class Product {
                 ", description='" + description + '\'' +
                 ", expiryDate=" + expiryDate +
                 ", imageUrl='" + imageUrl + '\'' +
+                ", thumbnailUrl='" + thumbnailUrl + '\'' +
+                ", mediumImageUrl='" + mediumImageUrl + '\'' +
                 ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
                 ", supplier=" + (supplier != null ? supplier.getName() : null) +
                 '}';
     }
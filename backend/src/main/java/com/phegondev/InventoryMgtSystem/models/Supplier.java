@@ -6,11 +6,18 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "suppliers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "suppliers")
 @Data
 @Builder
 public class Supplier {
@@ -26,4 +33,8 @@ public class Supplier {
     private String contactInfo;
 
     private String address;
+
+    //drives the ETag and Last-Modified of the supplier list
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
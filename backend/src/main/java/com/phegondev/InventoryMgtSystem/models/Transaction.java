@@ -14,13 +14,30 @@ import java.time.LocalDateTime;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "transactions")
+//InnoDB secondary indexes carry the primary key, so each of these also serves "... order by id desc"
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_transactions_status", columnList = "status"),
+        @Index(name = "idx_transactions_type", columnList = "transaction_type"),
+        @Index(name = "idx_transactions_product", columnList = "product_id")
+})
+@NamedEntityGraph(name = Transaction.DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "product", subgraph = "product"),
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("supplier")
+        },
+        subgraphs = @NamedSubgraph(name = "product", attributeNodes = @NamedAttributeNode("supplier")))
 @Data
 @Builder
 public class Transaction {
 
+    public static final String DETAIL = "Transaction.detail";
+
+    //sequence ids (a table on MySQL) are handed out in blocks, which keeps JDBC insert batching on
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     private Integer totalProducts;
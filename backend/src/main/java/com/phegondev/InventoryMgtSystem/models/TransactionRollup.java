@@ -0,0 +1,64 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import com.phegondev.InventoryMgtSystem.enums.RollupDimension;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+//running totals of transactions per day/month, written by RollupLedger together with the transactions themselves.
+//each bucket is spread over a few shard rows so concurrent writers rarely wait on the same row; reads sum the shards
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "transaction_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_transaction_rollups_bucket",
+        columnNames = {"rollup_period", "period_start", "dimension", "dimension_id", "transaction_type", "status", "shard"}))
+@Data
+@Builder
+public class TransactionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rollup_period", nullable = false, length = 10)
+    private RollupPeriod period;
+
+    //first day of the day/month bucket
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupDimension dimension;
+
+    //product or supplier id, 0 for the TOTAL dimension
+    @Column(nullable = false)
+    private Long dimensionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionStatus status;
+
+    @Column(nullable = false)
+    private int shard;
+
+    private long transactionCount;
+    private long totalProducts;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal totalPrice;
+}
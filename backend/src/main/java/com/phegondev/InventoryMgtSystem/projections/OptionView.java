@@ -0,0 +1,12 @@
+package com.phegondev.InventoryMgtSystem.projections;
+
+/**
+ * Id and name of a row, for dropdowns. As a closed interface projection it
+ * makes Spring Data select just these two columns.
+ */
+public interface OptionView {
+
+    Long getId();
+
+    String getName();
+}
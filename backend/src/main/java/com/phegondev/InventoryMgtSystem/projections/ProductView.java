@@ -0,0 +1,27 @@
+package com.phegondev.InventoryMgtSystem.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only product row for the listing and search pages.
+ * <p>
+ * Built straight from the select list, so it carries only the columns the
+ * product DTO shows: the category is just its foreign key and the supplier
+ * contributes its name. Nothing is attached to the persistence context.
+ */
+public record ProductView(
+        Long id,
+        String name,
+        String sku,
+        BigDecimal price,
+        Integer stockQuantity,
+        String description,
+        LocalDateTime expiryDate,
+        String imageUrl,
+        String thumbnailUrl,
+        LocalDateTime createdAt,
+        Long categoryId,
+        Long supplierId,
+        String supplierName) {
+}
@@ -0,0 +1,32 @@
+package com.phegondev.InventoryMgtSystem.projections;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One flat row of the transaction export.
+ * <p>
+ * Selected column by column so the export never materialises Transaction,
+ * Product, Supplier or User entities: the persistence context stays empty no
+ * matter how many rows are streamed.
+ */
+public record TransactionExportRow(
+        Long id,
+        LocalDateTime createdAt,
+        TransactionType transactionType,
+        TransactionStatus status,
+        Integer totalProducts,
+        BigDecimal totalPrice,
+        Long productId,
+        String productSku,
+        String productName,
+        Long supplierId,
+        String supplierName,
+        Long userId,
+        String userEmail,
+        String description,
+        String note) {
+}
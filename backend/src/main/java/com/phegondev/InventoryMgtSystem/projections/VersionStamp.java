@@ -0,0 +1,43 @@
+package com.phegondev.InventoryMgtSystem.projections;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * How many rows a response is built from and when the latest of them changed,
+ * read with one aggregate query so a conditional GET can be answered with a 304
+ * without loading or serialising the rows themselves.
+ * <p>
+ * Edits and inserts move {@code lastModified}; deletes change {@code rows}.
+ * Rows written before updated_at existed have no timestamp and only count.
+ */
+public record VersionStamp(Long rows, LocalDateTime lastModified) {
+
+    //for responses that also show a joined row, whichever of the two changed last
+    public VersionStamp(Long rows, LocalDateTime lastModified, LocalDateTime joinedLastModified) {
+        this(rows, later(lastModified, joinedLastModified));
+    }
+
+    public boolean isEmpty() {
+        return rows == null || rows == 0;
+    }
+
+    //weak: the same data may go out with different encodings
+    public String etag() {
+        if (lastModified == null) return "W/\"" + rows + "\"";
+        long nanos = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() * 1_000_000
+                + lastModified.getNano() % 1_000_000;
+        return "W/\"" + rows + "-" + Long.toString(nanos, 36) + "\"";
+    }
+
+    //-1 when unknown, as WebRequest.checkNotModified expects
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime later(LocalDateTime first, LocalDateTime second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first.isAfter(second) ? first : second;
+    }
+}
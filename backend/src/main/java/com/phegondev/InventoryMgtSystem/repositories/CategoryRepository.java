@@ -1,7 +1,31 @@
 package com.phegondev.InventoryMgtSystem.repositories;
 
 import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    //the list is served from the query cache until a category row changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll(Sort sort);
+
+    //validators for the list, cached and invalidated the same way
+    @Query("select new com.phegondev.InventoryMgtSystem.projections.VersionStamp(count(c), max(c.updatedAt)) from Category c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    VersionStamp findVersion();
+
+    //category page: its products and their suppliers in one statement
+    @EntityGraph(Category.WITH_PRODUCTS)
+    Optional<Category> findWithProductsById(Long id);
 }
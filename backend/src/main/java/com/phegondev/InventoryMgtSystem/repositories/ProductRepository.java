@@ -1,10 +1,90 @@
 package com.phegondev.InventoryMgtSystem.repositories;
 
 import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.projections.OptionView;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findByNameContainingOrDescriptionContaining(String name, String description);
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductViewRepository {
+
+    //full catalog with category and supplier in a single statement
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
+    List<Product> findAllWithCategoryAndSupplierBy(Sort sort);
+
+    //detail and edit paths: the DTO shows the supplier and the search index needs both names
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
+    Optional<Product> findWithCategoryAndSupplierById(Long id);
+
+    //search read path: one page of ids returned by the search index, as read-only views
+    @Query("select new com.phegondev.InventoryMgtSystem.projections.ProductView(" +
+            "p.id, p.name, p.sku, p.price, p.stockQuantity, p.description, p.expiryDate, p.imageUrl, p.thumbnailUrl, p.createdAt, " +
+            "p.category.id, s.id, s.name) " +
+            "from Product p left join p.supplier s where p.id in :ids")
+    List<ProductView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    //search index reconcile: ids in ascending order, one keyset page at a time
+    @Query("select p.id from Product p where p.id > :afterId order by p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    //dropdowns: id and name only
+    List<OptionView> findOptionsBy(Sort sort);
+
+    //validators for the product detail, which also shows its supplier's name
+    @Query("select new com.phegondev.InventoryMgtSystem.projections.VersionStamp(count(p), max(p.updatedAt), max(s.updatedAt)) " +
+            "from Product p left join p.supplier s where p.id = :productId")
+    VersionStamp findVersionById(@Param("productId") Long productId);
+
+    //stock is changed in place by the database so concurrent writers never overwrite each other
+    @Modifying
+    @Query("update Product p set p.stockQuantity = p.stockQuantity + :quantity, p.updatedAt = local datetime " +
+            "where p.id = :productId")
+    int incrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update Product p set p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = local datetime " +
+            "where p.id = :productId and p.stockQuantity >= :quantity")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    //an explicit stock count from an edit, also in place: the entity never writes stock_quantity on update
+    @Modifying
+    @Query("update Product p set p.stockQuantity = :quantity, p.updatedAt = local datetime where p.id = :productId")
+    int setStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    //variant urls only land if the product still shows the image they were rendered from
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.thumbnailUrl = :thumbnailUrl, p.mediumImageUrl = :mediumImageUrl, " +
+            "p.updatedAt = local datetime " +
+            "where p.id = :productId and p.imageUrl = :imageUrl")
+    int updateImageVariants(@Param("productId") Long productId,
+                            @Param("imageUrl") String imageUrl,
+                            @Param("thumbnailUrl") String thumbnailUrl,
+                            @Param("mediumImageUrl") String mediumImageUrl);
+
+    //an upload that never reached storage is taken off the product, unless a newer one replaced it already
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.imageUrl = null, p.thumbnailUrl = null, p.mediumImageUrl = null, " +
+            "p.updatedAt = local datetime " +
+            "where p.id = :productId and p.imageUrl = :imageUrl")
+    int clearImage(@Param("productId") Long productId, @Param("imageUrl") String imageUrl);
+
+    //one statement for a whole category instead of loading and deleting its products one by one
+    @Modifying
+    @Query("delete from Product p where p.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
 }
@@ -0,0 +1,14 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+//listing read path that selects view columns instead of entities, see ProductViewRepositoryImpl
+public interface ProductViewRepository {
+
+    List<ProductView> findViews(Specification<Product> spec, Sort sort, int limit);
+}
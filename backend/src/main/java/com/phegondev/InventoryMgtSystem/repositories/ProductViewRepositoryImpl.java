@@ -0,0 +1,59 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class ProductViewRepositoryImpl implements ProductViewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //same filter and keyset specifications as the entity listing, but the category is read from
+    //its foreign key and only the supplier's name is joined in
+    @Override
+    public List<ProductView> findViews(Specification<Product> spec, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductView> query = criteriaBuilder.createQuery(ProductView.class);
+        Root<Product> root = query.from(Product.class);
+        Join<Product, Supplier> supplier = root.join("supplier", JoinType.LEFT);
+
+        query.select(criteriaBuilder.construct(ProductView.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("sku"),
+                root.get("price"),
+                root.get("stockQuantity"),
+                root.get("description"),
+                root.get("expiryDate"),
+                root.get("imageUrl"),
+                root.get("thumbnailUrl"),
+                root.get("createdAt"),
+                root.get("category").get("id"),
+                supplier.get("id"),
+                supplier.get("name")));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
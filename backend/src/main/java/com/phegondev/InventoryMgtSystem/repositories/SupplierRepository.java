@@ -1,7 +1,30 @@
 package com.phegondev.InventoryMgtSystem.repositories;
 
 import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.projections.OptionView;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+
+    //the list is served from the query cache until a supplier row changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Supplier> findAll(Sort sort);
+
+    //validators for the list, cached and invalidated the same way
+    @Query("select new com.phegondev.InventoryMgtSystem.projections.VersionStamp(count(s), max(s.updatedAt)) from Supplier s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    VersionStamp findVersion();
+
+    //dropdowns: id and name only, cached like the full list
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<OptionView> findOptionsBy(Sort sort);
 }
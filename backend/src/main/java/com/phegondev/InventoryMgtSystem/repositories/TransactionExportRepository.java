@@ -0,0 +1,14 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.projections.TransactionExportRow;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+//forward-only export read path, see TransactionExportRepositoryImpl
+public interface TransactionExportRepository {
+
+    //the stream holds an open cursor: consume it inside a transaction and close it
+    Stream<TransactionExportRow> streamExportRows(Specification<Transaction> spec);
+}
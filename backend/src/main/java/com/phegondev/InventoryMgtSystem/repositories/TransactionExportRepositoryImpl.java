@@ -0,0 +1,88 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.projections.TransactionExportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+class TransactionExportRepositoryImpl implements TransactionExportRepository {
+
+    //rows per round trip on drivers that honour a positive fetch size
+    static final int FETCH_SIZE = 500;
+
+    //Connector/J buffers the whole result set for any other fetch size unless the pool's url sets
+    //useCursorFetch, which would turn every statement on every connection into a server-side cursor;
+    //Integer.MIN_VALUE streams this one result set row by row instead
+    static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //same TransactionFilter specification as the listing, the joins are declared LEFT first so the
+    //free-text predicate reuses them instead of joining the tables a second time
+    @Override
+    public Stream<TransactionExportRow> streamExportRows(Specification<Transaction> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionExportRow> query = criteriaBuilder.createQuery(TransactionExportRow.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Transaction, Product> product = root.join("product", JoinType.LEFT);
+        Join<Transaction, Supplier> supplier = root.join("supplier", JoinType.LEFT);
+        Join<Transaction, User> user = root.join("user", JoinType.LEFT);
+
+        query.select(criteriaBuilder.construct(TransactionExportRow.class,
+                root.get("id"),
+                root.get("createdAt"),
+                root.get("transactionType"),
+                root.get("status"),
+                root.get("totalProducts"),
+                root.get("totalPrice"),
+                product.get("id"),
+                product.get("sku"),
+                product.get("name"),
+                supplier.get("id"),
+                supplier.get("name"),
+                user.get("id"),
+                user.get("email"),
+                root.get("description"),
+                root.get("note")));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        //oldest first, the order the accountants reconcile in
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        //getResultStream() walks a FORWARD_ONLY ScrollableResults and closes it with the stream
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    //a streaming result set allows no other statement on the connection until it is closed,
+    //which holds here: the export runs this one query in its own read-only transaction
+    private int fetchSize() {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        return dialect instanceof MySQLDialect ? MYSQL_STREAMING_FETCH_SIZE : FETCH_SIZE;
+    }
+}
@@ -1,8 +1,32 @@
 package com.phegondev.InventoryMgtSystem.repositories;
 
 import com.phegondev.InventoryMgtSystem.models.Transaction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+import java.util.Optional;
+
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionExportRepository {
+
+    //detail page: product (with its supplier), user and supplier in one statement
+    @EntityGraph(Transaction.DETAIL)
+    Optional<Transaction> findDetailById(Long id);
+
+    //status changes read the old status under a row lock so the rollups move it exactly once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Transaction t where t.id = :id")
+    Optional<Transaction> findForUpdateById(@Param("id") Long id);
+
+    //the rollup rebuild holds a shared lock on every transaction until it commits: writers already in flight
+    //finish first, new transactions and status changes wait until the rebuilt rollups are in place.
+    //renders "for share" on MySQL; H2 locks entities after the query instead, so a count locks nothing there
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select count(t) from Transaction t")
+    long lockAllForRollupRebuild();
 }
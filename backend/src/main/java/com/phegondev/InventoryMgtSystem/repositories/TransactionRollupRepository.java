@@ -0,0 +1,112 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.dtos.RollupDTO;
+import com.phegondev.InventoryMgtSystem.enums.RollupDimension;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.TransactionRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    //set-based rebuild, everything into shard 0: the DAY buckets of each dimension straight from transactions,
+    //then the MONTH buckets from the DAY ones
+    String REBUILD_INSERT = "insert into transaction_rollups " +
+            "(rollup_period, period_start, dimension, dimension_id, transaction_type, status, shard, transaction_count, total_products, total_price) ";
+    String DAILY_SELECT = "select 'DAY', cast(created_at as date), ";
+    String DAILY_TOTALS = ", transaction_type, status, 0, count(*), coalesce(sum(total_products), 0), coalesce(sum(total_price), 0) " +
+            "from transactions ";
+    String MONTH_START = "cast(concat(year(period_start), '-', lpad(month(period_start), 2, '0'), '-01') as date)";
+
+    //adds a delta to a bucket, creating it on first use (MySQL upsert on the unique bucket key).
+    //the query space keeps hibernate from treating it as a write to every table and clearing the second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollups"))
+    @Query(value = "insert into transaction_rollups " +
+            "(rollup_period, period_start, dimension, dimension_id, transaction_type, status, shard, transaction_count, total_products, total_price) " +
+            "values (:period, :periodStart, :dimension, :dimensionId, :transactionType, :status, :shard, :transactionCount, :totalProducts, :totalPrice) " +
+            "on duplicate key update " +
+            "transaction_count = transaction_count + values(transaction_count), " +
+            "total_products = total_products + values(total_products), " +
+            "total_price = total_price + values(total_price)", nativeQuery = true)
+    int upsert(@Param("period") String period,
+               @Param("periodStart") LocalDate periodStart,
+               @Param("dimension") String dimension,
+               @Param("dimensionId") long dimensionId,
+               @Param("transactionType") String transactionType,
+               @Param("status") String status,
+               @Param("shard") int shard,
+               @Param("transactionCount") long transactionCount,
+               @Param("totalProducts") long totalProducts,
+               @Param("totalPrice") BigDecimal totalPrice);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollups"))
+    @Query(value = REBUILD_INSERT + DAILY_SELECT + "'TOTAL', 0" + DAILY_TOTALS +
+            "group by cast(created_at as date), transaction_type, status", nativeQuery = true)
+    int rebuildDailyTotals();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollups"))
+    @Query(value = REBUILD_INSERT + DAILY_SELECT + "'PRODUCT', product_id" + DAILY_TOTALS +
+            "where product_id is not null " +
+            "group by cast(created_at as date), product_id, transaction_type, status", nativeQuery = true)
+    int rebuildDailyByProduct();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollups"))
+    @Query(value = REBUILD_INSERT + DAILY_SELECT + "'SUPPLIER', supplier_id" + DAILY_TOTALS +
+            "where supplier_id is not null " +
+            "group by cast(created_at as date), supplier_id, transaction_type, status", nativeQuery = true)
+    int rebuildDailyBySupplier();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_rollups"))
+    @Query(value = REBUILD_INSERT + "select 'MONTH', " + MONTH_START + ", dimension, dimension_id, transaction_type, status, 0, " +
+            "sum(transaction_count), sum(total_products), sum(total_price) " +
+            "from transaction_rollups where rollup_period = 'DAY' " +
+            "group by " + MONTH_START + ", dimension, dimension_id, transaction_type, status", nativeQuery = true)
+    int rebuildMonthlyFromDaily();
+
+    @Query("select new com.phegondev.InventoryMgtSystem.dtos.RollupDTO(r.periodStart, r.transactionType, r.status, " +
+            "sum(r.transactionCount), sum(r.totalProducts), sum(r.totalPrice)) " +
+            "from TransactionRollup r " +
+            "where r.period = :period and r.dimension = :dimension and r.dimensionId = :dimensionId " +
+            "and r.periodStart >= :from and r.periodStart < :to " +
+            "group by r.periodStart, r.transactionType, r.status " +
+            "having sum(r.transactionCount) > 0 " +
+            "order by r.periodStart, r.transactionType, r.status")
+    List<RollupDTO> findSeries(@Param("period") RollupPeriod period,
+                                       @Param("dimension") RollupDimension dimension,
+                                       @Param("dimensionId") Long dimensionId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    //cancelled transactions are left out of the rankings, as are buckets emptied by status changes
+    @Query("select new com.phegondev.InventoryMgtSystem.dtos.RollupDTO(r.dimensionId, r.transactionType, " +
+            "sum(r.transactionCount), sum(r.totalProducts), sum(r.totalPrice)) " +
+            "from TransactionRollup r " +
+            "where r.period = :period and r.dimension = :dimension and r.transactionType = :transactionType " +
+            "and r.status <> com.phegondev.InventoryMgtSystem.enums.TransactionStatus.CANCELLED " +
+            "and r.periodStart >= :from and r.periodStart < :to " +
+            "group by r.dimensionId, r.transactionType " +
+            "having sum(r.transactionCount) > 0 " +
+            "order by sum(r.totalPrice) desc, sum(r.transactionCount) desc")
+    List<RollupDTO> findTopByDimension(@Param("period") RollupPeriod period,
+                                       @Param("dimension") RollupDimension dimension,
+                                       @Param("transactionType") TransactionType transactionType,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       Pageable pageable);
+}
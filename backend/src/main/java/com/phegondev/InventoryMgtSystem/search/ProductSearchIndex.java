@@ -0,0 +1,418 @@
+package com.phegondev.InventoryMgtSystem.search;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product name, sku, description, category name
+ * and supplier name, used by the product search instead of {@code LIKE '%x%'} scans.
+ * <p>
+ * Terms are kept in a sorted map so every query token is matched as a prefix
+ * ("lap" finds "laptop"). A product must match all query tokens; its score is the
+ * sum of the best field weight per token, doubled when the token is a whole term.
+ * Results are ordered by score, then newest product first.
+ * <p>
+ * The index only returns ids, the products themselves are still read from the
+ * database. Searches share a read lock, updates take the write lock.
+ * <p>
+ * Bulk loads ({@link SearchIndexLoader}) read products some time before they
+ * index them. Between {@link #beginLoad()} and {@link #endLoad()} every product
+ * indexed or removed by a live write is remembered, and the load's older copy
+ * of it is skipped, so a product deleted during the load does not come back.
+ */
+@Component
+public class ProductSearchIndex {
+
+    static final int NAME_WEIGHT = 8;
+    static final int SKU_WEIGHT = 6;
+    static final int CATEGORY_WEIGHT = 3;
+    static final int SUPPLIER_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    //verify candidates directly once the postings are this many times larger than the candidate set
+    private static final int VERIFY_RATIO = 16;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING =
+            Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //term -> (product id -> weight of that term in the product)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+
+    //ids written by live updates since the running load began, null when no load runs
+    private Set<Long> changedDuringLoad;
+
+
+    public void index(Product product) {
+        if (product == null || product.getId() == null) return;
+
+        IndexedProduct document = IndexedProduct.of(product);
+        lock.writeLock().lock();
+        try {
+            put(product.getId(), document);
+            changed(product.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                if (product.getId() != null) {
+                    put(product.getId(), IndexedProduct.of(product));
+                    changed(product.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            unpost(productId, documents.remove(productId));
+            changed(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //category delete cascades to its products
+    public void removeCategory(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIdsWhere(document -> categoryId.equals(document.categoryId))) {
+                unpost(productId, documents.remove(productId));
+                changed(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void renameCategory(Long categoryId, String categoryName) {
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIdsWhere(document -> categoryId.equals(document.categoryId))) {
+                put(productId, documents.get(productId).withCategoryName(categoryName));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void renameSupplier(Long supplierId, String supplierName) {
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIdsWhere(document -> supplierId.equals(document.supplierId))) {
+                put(productId, documents.get(productId).withSupplierName(supplierName));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //products read by a bulk load, except those a live write has indexed or removed since the load began
+    public void load(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                if (product.getId() != null && !changedSinceLoadBegan(product.getId())) {
+                    put(product.getId(), IndexedProduct.of(product));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //products the database no longer has, except those a live write has indexed since the load began
+    public void unload(Collection<Long> productIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                if (!changedSinceLoadBegan(productId)) {
+                    unpost(productId, documents.remove(productId));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int page, int size) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || page < 0 || size < 1) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            //rarest token first, so the later (common) tokens only have to confirm a few candidates
+            List<TokenTerms> lookups = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                lookups.add(TokenTerms.of(token, postings.subMap(token, true, token + Character.MAX_VALUE, false)));
+            }
+            lookups.sort(Comparator.comparingLong(TokenTerms::postingCount));
+
+            Map<Long, Integer> scores = null;
+
+            for (TokenTerms lookup : lookups) {
+                if (scores != null && (long) scores.size() * VERIFY_RATIO < lookup.postingCount()) {
+                    scores = verify(scores, lookup.token());
+                } else {
+                    scores = collect(scores, lookup);
+                }
+                if (scores.isEmpty()) break;
+            }
+
+            return new SearchHits(topPage(scores, page, size), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //indexed ids in ascending order
+    public long[] ids() {
+        lock.readLock().lock();
+        try {
+            return documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //walks every posting of the token's terms, keeping products that are already candidates
+    private Map<Long, Integer> collect(Map<Long, Integer> scores, TokenTerms lookup) {
+        Map<Long, Integer> matches = new HashMap<>();
+
+        for (Map.Entry<String, Map<Long, Integer>> term : lookup.terms().entrySet()) {
+            boolean wholeTerm = term.getKey().equals(lookup.token());
+
+            for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                Long productId = posting.getKey();
+                if (scores != null && !scores.containsKey(productId)) continue;
+
+                int score = wholeTerm ? posting.getValue() * 2 : posting.getValue();
+                matches.merge(productId, score, Math::max);
+            }
+        }
+
+        if (scores != null) {
+            matches.replaceAll((productId, score) -> score + scores.get(productId));
+        }
+        return matches;
+    }
+
+    //few candidates against a common token: check each candidate's own terms instead
+    private Map<Long, Integer> verify(Map<Long, Integer> scores, String token) {
+        String upper = token + Character.MAX_VALUE;
+        Map<Long, Integer> matches = new HashMap<>();
+
+        scores.forEach((productId, score) -> {
+            int best = 0;
+            for (Map.Entry<String, Integer> term : documents.get(productId).terms().entrySet()) {
+                String key = term.getKey();
+                if (key.compareTo(token) >= 0 && key.compareTo(upper) < 0) {
+                    best = Math.max(best, key.equals(token) ? term.getValue() * 2 : term.getValue());
+                }
+            }
+            if (best > 0) matches.put(productId, score + best);
+        });
+        return matches;
+    }
+
+    //keeps only the best (page + 1) * size hits instead of sorting every match
+    private List<Long> topPage(Map<Long, Integer> scores, int page, int size) {
+        long limit = (long) (page + 1) * size;
+        if (scores.size() <= (long) page * size) {
+            return List.of();
+        }
+
+        PriorityQueue<Map.Entry<Long, Integer>> best = new PriorityQueue<>(RANKING);
+        for (Map.Entry<Long, Integer> hit : scores.entrySet()) {
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (RANKING.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING.reversed());
+
+        List<Long> productIds = new ArrayList<>(size);
+        for (int i = page * size; i < ranked.size(); i++) {
+            productIds.add(ranked.get(i).getKey());
+        }
+        return productIds;
+    }
+
+    private void changed(Long productId) {
+        if (changedDuringLoad != null) changedDuringLoad.add(productId);
+    }
+
+    private boolean changedSinceLoadBegan(Long productId) {
+        return changedDuringLoad != null && changedDuringLoad.contains(productId);
+    }
+
+    private void put(Long productId, IndexedProduct document) {
+        unpost(productId, documents.put(productId, document));
+        document.terms().forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>(4)).put(productId, weight));
+    }
+
+    private void unpost(Long productId, IndexedProduct document) {
+        if (document == null) return;
+
+        for (String term : document.terms().keySet()) {
+            Map<Long, Integer> products = postings.get(term);
+            if (products != null) {
+                products.remove(productId);
+                if (products.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+
+    private List<Long> productIdsWhere(Predicate<IndexedProduct> predicate) {
+        List<Long> productIds = new ArrayList<>();
+        documents.forEach((productId, document) -> {
+            if (predicate.test(document)) productIds.add(productId);
+        });
+        return productIds;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) return tokens;
+
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    //one query token with the index terms it is a prefix of
+    private record TokenTerms(String token, NavigableMap<String, Map<Long, Integer>> terms, long postingCount) {
+
+        static TokenTerms of(String token, NavigableMap<String, Map<Long, Integer>> terms) {
+            long postingCount = 0;
+            for (Map<Long, Integer> products : terms.values()) {
+                postingCount += products.size();
+            }
+            return new TokenTerms(token, terms, postingCount);
+        }
+    }
+
+    //the indexed fields of one product, kept so a product can be re-indexed or removed
+    private static final class IndexedProduct {
+
+        private final String name;
+        private final String sku;
+        private final String description;
+        private final Long categoryId;
+        private final String categoryName;
+        private final Long supplierId;
+        private final String supplierName;
+
+        private IndexedProduct(String name, String sku, String description,
+                               Long categoryId, String categoryName, Long supplierId, String supplierName) {
+            this.name = name;
+            this.sku = sku;
+            this.description = description;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.supplierId = supplierId;
+            this.supplierName = supplierName;
+        }
+
+        static IndexedProduct of(Product product) {
+            return new IndexedProduct(
+                    product.getName(),
+                    product.getSku(),
+                    product.getDescription(),
+                    product.getCategory() != null ? product.getCategory().getId() : null,
+                    product.getCategory() != null ? product.getCategory().getName() : null,
+                    product.getSupplier() != null ? product.getSupplier().getId() : null,
+                    product.getSupplier() != null ? product.getSupplier().getName() : null);
+        }
+
+        IndexedProduct withCategoryName(String newCategoryName) {
+            return new IndexedProduct(name, sku, description, categoryId, newCategoryName, supplierId, supplierName);
+        }
+
+        IndexedProduct withSupplierName(String newSupplierName) {
+            return new IndexedProduct(name, sku, description, categoryId, categoryName, supplierId, newSupplierName);
+        }
+
+        //derived from the fields on demand rather than stored, which keeps large catalogs small in memory
+        Map<String, Integer> terms() {
+            Map<String, Integer> terms = new HashMap<>();
+            addTerms(terms, name, NAME_WEIGHT);
+            addTerms(terms, sku, SKU_WEIGHT);
+            addTerms(terms, categoryName, CATEGORY_WEIGHT);
+            addTerms(terms, supplierName, SUPPLIER_WEIGHT);
+            addTerms(terms, description, DESCRIPTION_WEIGHT);
+            return terms;
+        }
+
+        //a term found in several fields keeps its highest weight
+        private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+            for (String token : tokenize(text)) {
+                terms.merge(token, weight, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.phegondev.InventoryMgtSystem.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+//one page of ranked product ids plus the total number of matching products
+@Data
+@AllArgsConstructor
+public class SearchHits {
+
+    private List<Long> productIds;
+    private long totalMatches;
+}
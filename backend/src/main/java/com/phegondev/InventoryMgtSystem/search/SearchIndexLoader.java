@@ -0,0 +1,137 @@
+package com.phegondev.InventoryMgtSystem.search;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.specification.ProductFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//fills the product search index from the database once the application has started,
+//off the startup thread so a large catalog does not delay readiness. every node has its own index,
+//so each one then reconciles with the database on a schedule to pick up what the other nodes wrote
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexLoader {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int ID_BATCH_SIZE = 10_000;
+
+    //each reconcile reads back this far before the previous one started: commits that land after their
+    //updated_at was stamped, and clocks that differ between nodes and the database
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+
+    //start of the last completed load, null until the warm-up is done
+    private volatile LocalDateTime loadedSince;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        productSearchIndex.beginLoad();
+        try {
+            load(null);
+        } finally {
+            productSearchIndex.endLoad();
+        }
+        loadedSince = startedAt;
+
+        log.info("Product search index loaded: {} products in {} ms",
+                productSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    //products changed since the last load are indexed again; deletions are only looked for when the
+    //row count and the index size disagree, since that sweep reads every id
+    @Scheduled(fixedDelayString = "${app.search.reconcile-interval:30s}",
+            initialDelayString = "${app.search.reconcile-interval:30s}")
+    public void reconcile() {
+        LocalDateTime since = loadedSince;
+        if (since == null) return;
+
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        int changed;
+        int removed = 0;
+
+        productSearchIndex.beginLoad();
+        try {
+            changed = load(ProductFilter.updatedSince(since.minus(OVERLAP)));
+            if (productRepository.count() != productSearchIndex.size()) {
+                removed = removeDeleted();
+            }
+        } finally {
+            productSearchIndex.endLoad();
+        }
+        loadedSince = startedAt;
+
+        log.debug("Product search index reconciled: {} changed, {} removed in {} ms",
+                changed, removed, System.currentTimeMillis() - start);
+    }
+
+    //keyset batches so the whole catalog is never held in one persistence context
+    private int load(Specification<Product> filter) {
+        int loaded = 0;
+        String cursor = null;
+        List<Product> batch;
+
+        do {
+            Specification<Product> page = ProductFilter.afterCursor(cursor, ProductFilter.SORT_BY_ID);
+            batch = productRepository.findBy(
+                    filter == null ? page : page.and(filter),
+                    query -> query.sortBy(ProductFilter.sortFor(ProductFilter.SORT_BY_ID))
+                            .limit(BATCH_SIZE)
+                            .project("category", "supplier")
+                            .all());
+
+            productSearchIndex.load(batch);
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                cursor = ProductFilter.cursorFor(batch.get(batch.size() - 1), ProductFilter.SORT_BY_ID);
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        return loaded;
+    }
+
+    //walks the indexed ids and the table's ids side by side; an indexed id the table skipped over is gone
+    private int removeDeleted() {
+        long[] indexed = productSearchIndex.ids();
+        List<Long> deleted = new ArrayList<>();
+        int next = 0;
+        long afterId = 0;
+        List<Long> batch;
+
+        do {
+            batch = productRepository.findIdsAfter(afterId, PageRequest.of(0, ID_BATCH_SIZE));
+            //past the last page every remaining indexed id is gone, products created since were indexed live
+            long lastId = batch.size() == ID_BATCH_SIZE ? batch.get(batch.size() - 1) : Long.MAX_VALUE;
+
+            int present = 0;
+            for (; next < indexed.length && indexed[next] <= lastId; next++) {
+                while (present < batch.size() && batch.get(present) < indexed[next]) present++;
+                if (present == batch.size() || batch.get(present) != indexed[next]) deleted.add(indexed[next]);
+            }
+            afterId = lastId;
+        } while (batch.size() == ID_BATCH_SIZE);
+
+        productSearchIndex.unload(deleted);
+        return deleted.size();
+    }
+}
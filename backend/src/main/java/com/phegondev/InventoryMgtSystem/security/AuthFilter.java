@@ -1,5 +1,6 @@
 package com.phegondev.InventoryMgtSystem.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +24,7 @@ public class AuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService customUserDetailsService;
+    private final AuthUserCache authUserCache;
 
 
     @Override
@@ -32,14 +34,26 @@ public class AuthFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
 
         if (token != null) {
-            String email = jwtUtils.getUsernameFromToken(token);
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            AuthUser authUser = authUserCache.get(token);
 
-            if (StringUtils.hasText(email) && jwtUtils.isTokeValid(token, userDetails)) {
-                log.info("Valid Token, {}", email);
+            if (authUser == null) {
+                Claims claims = jwtUtils.parseClaims(token);
+                String email = claims.getSubject();
 
+                if (StringUtils.hasText(email)) {
+                    UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+
+                    if (userDetails instanceof AuthUser verifiedUser && jwtUtils.isTokenValid(claims, verifiedUser)) {
+                        log.info("Valid Token, {}", email);
+                        authUserCache.put(token, verifiedUser, claims.getExpiration());
+                        authUser = verifiedUser;
+                    }
+                }
+            }
+
+            if (authUser != null) {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
+                        authUser, null, authUser.getAuthorities()
                 );
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
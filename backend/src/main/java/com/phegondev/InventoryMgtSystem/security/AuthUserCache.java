@@ -0,0 +1,82 @@
+package com.phegondev.InventoryMgtSystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Verified token to principal cache used by {@link AuthFilter}.
+ * <p>
+ * A hit skips both the JWT signature check and the user lookup. Entries live
+ * for the configured TTL but never past the token's own expiration, and are
+ * evicted when the user they belong to is updated or deleted.
+ */
+@Component
+@Slf4j
+public class AuthUserCache {
+
+    private final Cache<String, CachedAuthUser> cache;
+
+    public AuthUserCache(@Value("${auth.cache.max-size:10000}") long maxSize,
+                         @Value("${auth.cache.ttl:5m}") Duration ttl,
+                         ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl.toNanos()))
+                .recordStats()
+                .build();
+
+        // hit rate, misses and evictions show up as cache.* metrics named authUsers
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "authUsers"));
+    }
+
+    public AuthUser get(String token) {
+        CachedAuthUser cached = cache.getIfPresent(token);
+        return cached != null ? cached.authUser() : null;
+    }
+
+    public void put(String token, AuthUser authUser, Date tokenExpiration) {
+        cache.put(token, new CachedAuthUser(authUser, tokenExpiration.getTime()));
+    }
+
+    public void evictUser(Long userId) {
+        cache.asMap().values().removeIf(cached -> userId.equals(cached.authUser().getUser().getId()));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record CachedAuthUser(AuthUser authUser, long tokenExpiresAtMillis) {
+    }
+
+    // expire after the TTL or when the token itself expires, whichever comes first
+    private record TokenExpiry(long ttlNanos) implements Expiry<String, CachedAuthUser> {
+
+        @Override
+        public long expireAfterCreate(String token, CachedAuthUser cached, long currentTime) {
+            long untilTokenExpiry = Duration.ofMillis(cached.tokenExpiresAtMillis() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilTokenExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, CachedAuthUser cached, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, CachedAuthUser cached, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
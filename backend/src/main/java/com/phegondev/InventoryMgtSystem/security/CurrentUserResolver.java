@@ -0,0 +1,36 @@
+package com.phegondev.InventoryMgtSystem.security;
+
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the user behind the current request from the {@link AuthUser} that
+ * {@link AuthFilter} already placed in the security context.
+ * <p>
+ * Write paths only need the user as a foreign key, so this hands out a reference
+ * by id instead of reloading the row. Use {@code UserService.getCurrentLoggedInUser()}
+ * when the user's fields are actually read.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserRepository userRepository;
+
+    //must be called inside a transaction for the reference to stay attached
+    public User currentUserReference() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthUser authUser)
+                || authUser.getUser().getId() == null) {
+            throw new NotFoundException("User Not Found");
+        }
+
+        return userRepository.getReferenceById(authUser.getUser().getId());
+    }
+}
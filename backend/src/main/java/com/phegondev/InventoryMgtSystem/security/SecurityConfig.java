@@ -2,6 +2,7 @@ package com.phegondev.InventoryMgtSystem.security;
 
 import com.phegondev.InventoryMgtSystem.exceptions.CustomAccessDenialHandler;
 import com.phegondev.InventoryMgtSystem.exceptions.CustomAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -39,8 +40,13 @@ public class SecurityConfig {
                         .authenticationEntryPoint(customAuthenticationEntryPoint)
                 )
                 .authorizeHttpRequests(request -> request
+                        //the dispatch that completes a streamed response was authorized as a request already
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/uploads/**").permitAll()   // ✅ FIX
+                        //probes and the Prometheus scraper carry no token; the other actuator endpoints are for admins
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,317 @@
+package com.phegondev.InventoryMgtSystem.seed;
+
+import com.phegondev.InventoryMgtSystem.config.TransactionSequenceInitializer;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.services.AnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with a production-sized, repeatable data set for load
+ * tests and query plans: categories, suppliers, users, up to 1M products and up
+ * to 50M transactions. Runs once at startup under the {@code seed} profile and
+ * does nothing if the database already has products:
+ * <pre>
+ * SPRING_PROFILES_ACTIVE=seed SEED_PRODUCTS=100000 SEED_TRANSACTIONS=5000000 mvn spring-boot:run
+ * </pre>
+ * Rows are written with plain JDBC batches of {@code app.seed.batch-size}, one
+ * transaction per batch. The skew follows a Zipf distribution. Category sizes,
+ * the products that sell and the users who record sales are all long-tailed.
+ * Transactions are spread evenly over {@code app.seed.days}, with ids rising
+ * with their dates like real history. The same {@code app.seed.random-seed}
+ * always gives the same data.
+ * <p>
+ * Every user gets the password {@code app.seed.password}. The first user is
+ * {@code admin@seed.local} with the ADMIN role. Stock levels are random, not
+ * derived from the seeded transactions. The search index loads the products
+ * once the application is ready. The rollups stay empty unless
+ * {@code app.seed.rebuild-rollups} is set: the rebuild is one transaction over
+ * every seeded row, so at the larger sizes it is better run on its own through
+ * {@code POST /api/analytics/rebuild}.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class DataSeeder implements ApplicationRunner {
+
+    static final int MAX_PRODUCTS = 1_000_000;
+    static final long MAX_TRANSACTIONS = 50_000_000L;
+    static final String ADMIN_EMAIL = "admin@seed.local";
+
+    private static final String PRODUCT_SQL = "insert into products " +
+            "(name, sku, price, stock_quantity, description, category_id, supplier_id, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String TRANSACTION_SQL = "insert into transactions " +
+            "(id, total_products, total_price, transaction_type, status, description, note, created_at, product_id, user_id, supplier_id) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] ADJECTIVES = {"steel", "wireless", "organic", "compact", "heavy", "premium", "mini",
+            "smart", "classic", "ultra", "portable", "eco", "digital", "rugged", "slim", "deluxe"};
+    private static final String[] NOUNS = {"laptop", "bolt", "rice", "cable", "mouse", "hammer", "lamp", "kettle",
+            "drill", "sleeve", "printer", "charger", "bottle", "helmet", "ladder", "blender", "router", "speaker",
+            "backpack", "monitor", "scissors", "tape", "glove", "battery"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final AnalyticsService analyticsService;
+    private final TransactionSequenceInitializer transactionSequence;
+
+    private final int categories;
+    private final int suppliers;
+    private final int users;
+    private final int products;
+    private final long transactions;
+    private final int days;
+    private final int batchSize;
+    private final long randomSeed;
+    private final String password;
+    private final boolean rebuildRollups;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate,
+                      TransactionTemplate transactionTemplate,
+                      PasswordEncoder passwordEncoder,
+                      AnalyticsService analyticsService,
+                      TransactionSequenceInitializer transactionSequence,
+                      @Value("${app.seed.categories:40}") int categories,
+                      @Value("${app.seed.suppliers:200}") int suppliers,
+                      @Value("${app.seed.users:50}") int users,
+                      @Value("${app.seed.products:10000}") int products,
+                      @Value("${app.seed.transactions:200000}") long transactions,
+                      @Value("${app.seed.days:365}") int days,
+                      @Value("${app.seed.batch-size:5000}") int batchSize,
+                      @Value("${app.seed.random-seed:42}") long randomSeed,
+                      @Value("${app.seed.password:password}") String password,
+                      @Value("${app.seed.rebuild-rollups:false}") boolean rebuildRollups) {
+
+        if (products < 1 || products > MAX_PRODUCTS) {
+            throw new IllegalArgumentException("app.seed.products must be between 1 and " + MAX_PRODUCTS);
+        }
+        if (transactions < 0 || transactions > MAX_TRANSACTIONS) {
+            throw new IllegalArgumentException("app.seed.transactions must be between 0 and " + MAX_TRANSACTIONS);
+        }
+        if (categories < 1 || suppliers < 1 || users < 1 || days < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("app.seed categories, suppliers, users, days and batch-size must be positive");
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.analyticsService = analyticsService;
+        this.transactionSequence = transactionSequence;
+        this.categories = categories;
+        this.suppliers = suppliers;
+        this.users = users;
+        this.products = products;
+        this.transactions = transactions;
+        this.days = days;
+        this.batchSize = batchSize;
+        this.randomSeed = randomSeed;
+        this.password = password;
+        this.rebuildRollups = rebuildRollups;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from products", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Seeding skipped: the database already has {} products", existing);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime firstDay = now.minusDays(days);
+
+        long[] categoryIds = seedCategories(firstDay);
+        long[] supplierIds = seedSuppliers(firstDay);
+        long[] userIds = seedUsers(firstDay);
+        Catalog catalog = seedProducts(random, categoryIds, supplierIds, firstDay);
+        seedTransactions(random, catalog, userIds, firstDay, now);
+
+        log.info("Seeded {} categories, {} suppliers, {} users, {} products and {} transactions in {} ms",
+                categories, suppliers, users, products, transactions, System.currentTimeMillis() - start);
+
+        if (rebuildRollups && transactions > 0) {
+            analyticsService.rebuildRollups();
+        } else if (transactions > 0) {
+            log.info("Rollups not rebuilt for the seeded transactions, set app.seed.rebuild-rollups or POST /api/analytics/rebuild");
+        }
+    }
+
+    private long[] seedCategories(LocalDateTime createdAt) {
+        List<Object[]> rows = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            rows.add(new Object[]{"Category " + (i + 1), Timestamp.valueOf(createdAt)});
+        }
+        insert("insert into categories (name, updated_at) values (?, ?)", rows);
+        return ids("categories");
+    }
+
+    private long[] seedSuppliers(LocalDateTime createdAt) {
+        List<Object[]> rows = new ArrayList<>(suppliers);
+        for (int i = 0; i < suppliers; i++) {
+            rows.add(new Object[]{"Supplier " + (i + 1), "supplier" + (i + 1) + "@seed.local",
+                    (i + 1) + " Warehouse Road", Timestamp.valueOf(createdAt)});
+        }
+        insert("insert into suppliers (name, contact_info, address, updated_at) values (?, ?, ?, ?)", rows);
+        return ids("suppliers");
+    }
+
+    private long[] seedUsers(LocalDateTime createdAt) {
+        //one hash for everyone, BCrypt per user would dominate small seeds
+        String hash = passwordEncoder.encode(password);
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            boolean admin = i == 0;
+            rows.add(new Object[]{
+                    admin ? "Seed Admin" : "User " + i,
+                    admin ? ADMIN_EMAIL : "user" + i + "@seed.local",
+                    hash,
+                    String.format(Locale.ROOT, "9%09d", i),
+                    (admin ? UserRole.ADMIN : i % 5 == 0 ? UserRole.MANAGER : UserRole.USER).name(),
+                    Timestamp.valueOf(createdAt)});
+        }
+        insert("insert into users (name, email, password, phone_number, role, created_at) values (?, ?, ?, ?, ?, ?)", rows);
+        return ids("users");
+    }
+
+    private Catalog seedProducts(SplittableRandom random, long[] categoryIds, long[] supplierIds, LocalDateTime createdAt) {
+        ZipfSampler categorySampler = new ZipfSampler(categoryIds.length, 1.0);
+        ZipfSampler supplierSampler = new ZipfSampler(supplierIds.length, 0.8);
+        long[] priceCents = new long[products];
+        long[] productSuppliers = new long[products];
+        Timestamp created = Timestamp.valueOf(createdAt);
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < products; i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            //log-uniform between 0.50 and 2000.00, cheap items are the common ones
+            priceCents[i] = Math.round(50 * Math.pow(4000, random.nextDouble()));
+            productSuppliers[i] = supplierIds[supplierSampler.next(random)];
+            //a tenth of the catalog is out of stock
+            int stock = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(1000);
+
+            rows.add(new Object[]{
+                    adjective + " " + noun + " " + (i + 1),
+                    String.format(Locale.ROOT, "SEED-%07d", i + 1),
+                    BigDecimal.valueOf(priceCents[i], 2),
+                    stock,
+                    "A " + adjective + " " + noun + " for everyday use",
+                    categoryIds[categorySampler.next(random)],
+                    productSuppliers[i],
+                    created,
+                    created});
+            if (rows.size() == batchSize) {
+                insert(PRODUCT_SQL, rows);
+                rows.clear();
+            }
+        }
+        insert(PRODUCT_SQL, rows);
+
+        long[] productIds = ids("products");
+        //the best sellers are scattered through the catalog, not the first ids
+        int[] popularity = new int[products];
+        for (int i = 0; i < products; i++) popularity[i] = i;
+        for (int i = products - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = popularity[i];
+            popularity[i] = popularity[j];
+            popularity[j] = swap;
+        }
+        return new Catalog(productIds, priceCents, productSuppliers, popularity);
+    }
+
+    private void seedTransactions(SplittableRandom random, Catalog catalog, long[] userIds,
+                                  LocalDateTime from, LocalDateTime to) {
+        if (transactions == 0) return;
+
+        ZipfSampler productSampler = new ZipfSampler(products, 1.1);
+        ZipfSampler userSampler = new ZipfSampler(userIds.length, 1.0);
+        long spanSeconds = ChronoUnit.SECONDS.between(from, to);
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from transactions", Long.class);
+        long firstId = (maxId == null ? 0 : maxId) + 1;
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long n = 0; n < transactions; n++) {
+            int product = catalog.popularity()[productSampler.next(random)];
+            TransactionType type = type(random);
+            int quantity = type == TransactionType.PURCHASE ? 10 + random.nextInt(91) : 1 + random.nextInt(5);
+            LocalDateTime createdAt = from.plusSeconds(spanSeconds * n / transactions);
+
+            rows.add(new Object[]{
+                    firstId + n,
+                    quantity,
+                    BigDecimal.valueOf(catalog.priceCents()[product] * quantity, 2),
+                    type.name(),
+                    status(random).name(),
+                    type.name().toLowerCase(Locale.ROOT).replace('_', ' '),
+                    null,
+                    Timestamp.valueOf(createdAt),
+                    catalog.ids()[product],
+                    userIds[userSampler.next(random)],
+                    type == TransactionType.SALE ? null : catalog.supplierIds()[product]});
+            if (rows.size() == batchSize) {
+                insert(TRANSACTION_SQL, rows);
+                rows.clear();
+                if ((n + 1) % (batchSize * 100L) == 0) {
+                    log.info("Seeded {} of {} transactions", n + 1, transactions);
+                }
+            }
+        }
+        insert(TRANSACTION_SQL, rows);
+        //transaction ids were assigned here, so move the sequence past them
+        transactionSequence.align();
+    }
+
+    private TransactionType type(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 70) return TransactionType.SALE;
+        if (roll < 95) return TransactionType.PURCHASE;
+        return TransactionType.RETURN_TO_SUPPLIER;
+    }
+
+    private TransactionStatus status(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 92) return TransactionStatus.COMPLETED;
+        if (roll < 96) return TransactionStatus.PENDING;
+        if (roll < 98) return TransactionStatus.PROCESSING;
+        return TransactionStatus.CANCELLED;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+    }
+
+    private long[] ids(String table) {
+        return jdbcTemplate.queryForList("select id from " + table + " order by id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    //parallel arrays indexed by catalog position; popularity maps a Zipf rank to a catalog position
+    private record Catalog(long[] ids, long[] priceCents, long[] supplierIds, int[] popularity) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+    Response getSummary(RollupPeriod period, LocalDate from, LocalDate to);
+
+    Response getTopProducts(TransactionType transactionType, LocalDate from, LocalDate to, int limit);
+
+    Response getTopSuppliers(TransactionType transactionType, LocalDate from, LocalDate to, int limit);
+
+    Response rebuildRollups();
+}
@@ -2,6 +2,7 @@ package com.phegondev.InventoryMgtSystem.services;
 
 import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
 
 public interface CategoryService {
 
@@ -9,6 +10,8 @@ public interface CategoryService {
 
     Response getAllCategories();
 
+    VersionStamp getCategoriesVersion();
+
     Response getCategoryById(Long id);
 
     Response updateCategory(Long id, CategoryDTO categoryDTO);
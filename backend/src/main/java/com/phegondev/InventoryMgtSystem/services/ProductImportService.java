@@ -0,0 +1,8 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ProductImportService {
+    Response importProducts(MultipartFile file, String format);
+}
@@ -1,7 +1,11 @@
 package com.phegondev.InventoryMgtSystem.services;
 
+import com.phegondev.InventoryMgtSystem.dtos.ImageUploadRequest;
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductListRequest;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface ProductService {
@@ -9,11 +13,17 @@ public interface ProductService {
 
     Response updateProduct(ProductDTO productDTO, MultipartFile imageFile);
 
-    Response getAllProducts();
+    Response requestImageUpload(ImageUploadRequest request);
+
+    PageResponse<ProductDTO> getAllProducts(ProductListRequest listRequest);
 
     Response getProductById(Long id);
 
+    VersionStamp getProductVersion(Long id);
+
     Response deleteProduct(Long id);
 
-    Response searchProduct(String input);
+    Response searchProduct(String input, int page, int size);
+
+    Response getProductOptions();
 }
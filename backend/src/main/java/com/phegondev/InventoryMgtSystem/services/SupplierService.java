@@ -2,6 +2,7 @@ package com.phegondev.InventoryMgtSystem.services;
 
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.dtos.SupplierDTO;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
 
 public interface SupplierService {
 
@@ -11,6 +12,10 @@ public interface SupplierService {
 
     Response getAllSupplier();
 
+    VersionStamp getSuppliersVersion();
+
+    Response getSupplierOptions();
+
     Response getSupplierById(Long id);
 
     Response deleteSupplier(Long id);
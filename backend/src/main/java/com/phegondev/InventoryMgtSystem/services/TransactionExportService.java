@@ -0,0 +1,22 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TransactionExportService {
+
+    //claims one of the export slots before the response starts, throws TooManyRequestsException when all
+    //are taken; the caller owns the slot and closes it however the export ends
+    ExportSlot reserveSlot();
+
+    long export(TransactionFilterRequest filterRequest, ExportFormat format, OutputStream outputStream) throws IOException;
+
+    //closing gives the slot back, closing it again does nothing
+    interface ExportSlot extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -1,6 +1,11 @@
 package com.phegondev.InventoryMgtSystem.services;
 
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionBatchRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionListRequest;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
 import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
 
@@ -11,11 +16,13 @@ public interface TransactionService {
 
     Response returnToSupplier(TransactionRequest transactionRequest);
 
-    Response getAllTransactions(int page, int size, String filter);
+    Response processBatch(TransactionBatchRequest batchRequest);
+
+    PageResponse<TransactionDTO> getAllTransactions(TransactionListRequest listRequest, TransactionFilterRequest filterRequest);
 
     Response getAllTransactionById(Long id);
 
-    Response getAllTransactionByMonthAndYear(int month, int year);
+    Response getAllTransactionByMonthAndYear(int month, int year, int page, int size);
 
     Response updateTransactionStatus(Long transactionId, TransactionStatus status);
 }
@@ -0,0 +1,127 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.RollupDTO;
+import com.phegondev.InventoryMgtSystem.enums.RollupDimension;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRollupRepository;
+import com.phegondev.InventoryMgtSystem.services.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TransactionRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+
+
+    @Override
+    public Response getSummary(RollupPeriod period, LocalDate from, LocalDate to) {
+
+        validateRange(from, to);
+
+        List<RollupDTO> rollups = rollupRepository.findSeries(period, RollupDimension.TOTAL, 0L, from, to);
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rollups(rollups)
+                .build();
+    }
+
+    @Override
+    public Response getTopProducts(TransactionType transactionType, LocalDate from, LocalDate to, int limit) {
+
+        List<RollupDTO> rollups = findTop(RollupDimension.PRODUCT, transactionType, from, to, limit);
+
+        Map<Long, String> names = productRepository.findAllById(dimensionIds(rollups)).stream()
+                .collect(Collectors.toMap(Product::getId, Product::getName));
+        rollups.forEach(rollup -> rollup.setName(names.get(rollup.getDimensionId())));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rollups(rollups)
+                .build();
+    }
+
+    @Override
+    public Response getTopSuppliers(TransactionType transactionType, LocalDate from, LocalDate to, int limit) {
+
+        List<RollupDTO> rollups = findTop(RollupDimension.SUPPLIER, transactionType, from, to, limit);
+
+        Map<Long, String> names = supplierRepository.findAllById(dimensionIds(rollups)).stream()
+                .collect(Collectors.toMap(Supplier::getId, Supplier::getName));
+        rollups.forEach(rollup -> rollup.setName(names.get(rollup.getDimensionId())));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rollups(rollups)
+                .build();
+    }
+
+    //recomputes every bucket from the transactions table, e.g. after a manual data fix, with one INSERT ... SELECT
+    //per dimension and period. the shared lock on every transaction lets writers already in flight finish first and
+    //holds new ones until the rebuilt buckets commit, so no live write is counted twice or lost
+    @Override
+    @Transactional
+    public Response rebuildRollups() {
+
+        long start = System.currentTimeMillis();
+        long rebuilt = transactionRepository.lockAllForRollupRebuild();
+        rollupRepository.deleteAllInBatch();
+
+        int buckets = rollupRepository.rebuildDailyTotals()
+                + rollupRepository.rebuildDailyByProduct()
+                + rollupRepository.rebuildDailyBySupplier()
+                + rollupRepository.rebuildMonthlyFromDaily();
+
+        log.info("Rebuilt {} transaction rollup buckets from {} transactions in {} ms",
+                buckets, rebuilt, System.currentTimeMillis() - start);
+
+        return Response.builder()
+                .status(200)
+                .message("Rollups rebuilt from " + rebuilt + " transactions")
+                .build();
+    }
+
+    //month aligned ranges read the MONTH buckets, so a year is 12 rows per product instead of 365
+    private List<RollupDTO> findTop(RollupDimension dimension, TransactionType transactionType,
+                                    LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        RollupPeriod period = from.getDayOfMonth() == 1 && to.getDayOfMonth() == 1 ? RollupPeriod.MONTH : RollupPeriod.DAY;
+        int pageSize = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        return rollupRepository.findTopByDimension(period, dimension, transactionType, from, to, PageRequest.of(0, pageSize));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) throw new IllegalArgumentException("from must be before to");
+    }
+
+    private List<Long> dimensionIds(List<RollupDTO> rollups) {
+        return rollups.stream().map(RollupDTO::getDimensionId).toList();
+    }
+}
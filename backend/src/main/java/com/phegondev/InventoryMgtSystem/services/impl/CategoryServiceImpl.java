@@ -4,15 +4,19 @@ package com.phegondev.InventoryMgtSystem.services.impl;
 import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
 import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
 import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
 import com.phegondev.InventoryMgtSystem.services.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -22,7 +26,10 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
     private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
+    private final ProductSearchIndex productSearchIndex;
 
 
     @Override
@@ -43,10 +50,7 @@ public class CategoryServiceImpl implements CategoryService {
     public Response getAllCategories() {
         List<Category> categories = categoryRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        categories.forEach(category -> category.setProducts(null));
-
-        List<CategoryDTO> categoryDTOList = modelMapper.map(categories, new TypeToken<List<CategoryDTO>>() {
-        }.getType());
+        List<CategoryDTO> categoryDTOList = dtoMapper.toList(categories, dtoMapper::toCategoryDTO);
 
         return Response.builder()
                 .status(200)
@@ -55,13 +59,18 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
     }
 
+    @Override
+    public VersionStamp getCategoriesVersion() {
+        return categoryRepository.findVersion();
+    }
+
     @Override
     public Response getCategoryById(Long id) {
 
-        Category category = categoryRepository.findById(id)
+        Category category = categoryRepository.findWithProductsById(id)
                 .orElseThrow(() -> new NotFoundException("Category Not Found"));
 
-        CategoryDTO categoryDTO = modelMapper.map(category, CategoryDTO.class);
+        CategoryDTO categoryDTO = dtoMapper.toCategoryWithProductsDTO(category);
 
         return Response.builder()
                 .status(200)
@@ -79,6 +88,7 @@ public class CategoryServiceImpl implements CategoryService {
         existingCategory.setName(categoryDTO.getName());
 
         categoryRepository.save(existingCategory);
+        productSearchIndex.renameCategory(id, existingCategory.getName());
 
         return Response.builder()
                 .status(200)
@@ -88,12 +98,16 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional
     public Response deleteCategory(Long id) {
 
         categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category Not Found"));
 
+        //products of the category are deleted with it
+        productRepository.deleteByCategoryId(id);
         categoryRepository.deleteById(id);
+        productSearchIndex.removeCategory(id);
 
         return Response.builder()
                 .status(200)
@@ -0,0 +1,394 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phegondev.InventoryMgtSystem.dtos.ImportErrorDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ImportReportDTO;
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.enums.ImportFormat;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.imports.ImportRecordReader;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
+import com.phegondev.InventoryMgtSystem.services.ProductImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Bulk product import from CSV or JSON.
+ * <p>
+ * The file is read one record at a time. Each record is validated against
+ * category and supplier lookup maps loaded once per import and against the SKUs
+ * already seen in the file; valid rows are buffered and written {@value #BATCH_SIZE}
+ * at a time as a single JDBC batch that inserts new SKUs and updates existing ones.
+ * A batch the database rejects is retried row by row so one bad row only fails
+ * itself. Invalid rows never stop the import; they are listed in the report.
+ * <p>
+ * A stock quantity in the file replaces the current stock of an existing product,
+ * whatever purchases and sales have done to it since; a row without one leaves
+ * the stock untouched, and a new product without one starts at 0.
+ * <p>
+ * Products are not in the second-level cache and no cached query reads them, so
+ * writing them with plain JDBC leaves nothing stale in Hibernate. The search
+ * index is updated after each batch commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    //sku is the unique key; created_at is only set on insert and the image is never touched.
+    //stock is bound twice: a row without a stock value inserts 0 but keeps the stock of an existing product
+    static final String UPSERT_SQL = "insert into products " +
+            "(name, sku, price, stock_quantity, description, expiry_date, category_id, supplier_id, created_at, updated_at) " +
+            "values (?, ?, ?, coalesce(?, 0), ?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update " +
+            "name = values(name), " +
+            "price = values(price), " +
+            "stock_quantity = coalesce(?, stock_quantity), " +
+            "description = values(description), " +
+            "expiry_date = values(expiry_date), " +
+            "category_id = values(category_id), " +
+            "supplier_id = values(supplier_id), " +
+            "updated_at = values(updated_at)";
+
+    private static final String IDS_BY_SKU_SQL = "select sku, id from products where sku in (:skus)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ObjectMapper objectMapper;
+
+
+    @Override
+    public Response importProducts(MultipartFile file, String format) {
+
+        if (file == null || file.isEmpty()) throw new NameValueRequiredException("Import file is Required");
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(
+                new Lookup<>("Category", categoryRepository.findAll(Sort.by("id")), Category::getId, Category::getName),
+                new Lookup<>("Supplier", supplierRepository.findAll(Sort.by("id")), Supplier::getId, Supplier::getName));
+
+        try (InputStream inputStream = file.getInputStream();
+             ImportRecordReader reader = ImportRecordReader.open(inputStream, importFormat, objectMapper)) {
+            while (true) {
+                Map<String, String> record;
+                try {
+                    record = reader.next();
+                } catch (IOException e) {
+                    //malformed input: what was read so far is still imported, the rest of the file is not
+                    run.reject(run.rowsRead + 1, null, "Stopped reading the file: " + e.getMessage());
+                    break;
+                }
+                if (record == null) break;
+                run.add(record);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read the uploaded file: " + e.getMessage(), e);
+        }
+        run.flush();
+
+        ImportReportDTO report = run.report(System.nanoTime() - start);
+        log.info("Imported products from {}: {} read, {} inserted, {} updated, {} failed in {} ms",
+                file.getOriginalFilename(), report.getRowsRead(), report.getInserted(), report.getUpdated(),
+                report.getFailed(), report.getElapsedMillis());
+
+        return Response.builder()
+                .status(200)
+                .message("Import finished")
+                .importReport(report)
+                .build();
+    }
+
+    //one import's state: counters, the capped error list, the SKUs seen so far and the pending batch
+    private final class ImportRun {
+
+        private final Lookup<Category> categories;
+        private final Lookup<Supplier> suppliers;
+
+        //case-insensitive like the MySQL sku column, first row of each sku in the file wins
+        private final Map<String, Long> firstRowBySku = new HashMap<>();
+        private final List<ProductRow> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+
+        private long rowsRead;
+        private long inserted;
+        private long updated;
+        private long failed;
+        private long batches;
+
+        ImportRun(Lookup<Category> categories, Lookup<Supplier> suppliers) {
+            this.categories = categories;
+            this.suppliers = suppliers;
+        }
+
+        void add(Map<String, String> record) {
+            long row = ++rowsRead;
+            String sku = trimToNull(record.get("sku"));
+            try {
+                ProductRow product = validate(row, sku, record);
+                batch.add(product);
+                if (batch.size() == BATCH_SIZE) {
+                    flush();
+                }
+            } catch (IllegalArgumentException e) {
+                reject(row, sku, e.getMessage());
+            }
+        }
+
+        private ProductRow validate(long row, String sku, Map<String, String> record) {
+            if (sku == null) throw new IllegalArgumentException("SKU is required");
+            String name = trimToNull(record.get("name"));
+            if (name == null) throw new IllegalArgumentException("Name is required");
+            String description = trimToNull(record.get("description"));
+
+            checkLength("SKU", sku);
+            checkLength("Name", name);
+            checkLength("Description", description);
+
+            Long firstRow = firstRowBySku.putIfAbsent(sku.toLowerCase(Locale.ROOT), row);
+            if (firstRow != null) {
+                throw new IllegalArgumentException("Duplicate SKU, first used on row " + firstRow);
+            }
+
+            return new ProductRow(row, sku, name,
+                    parsePrice(record.get("price")),
+                    parseStockQuantity(record.get("stockquantity")),
+                    description,
+                    parseExpiryDate(record.get("expirydate")),
+                    categories.resolve(record.get("categoryid"), record.get("categoryname")),
+                    suppliers.resolve(record.get("supplierid"), record.get("suppliername")));
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+
+            List<ProductRow> rows = List.copyOf(batch);
+            batch.clear();
+            try {
+                write(rows);
+            } catch (DataAccessException e) {
+                log.warn("Import batch of {} rows rejected, retrying row by row: {}", rows.size(), e.getMessage());
+                for (ProductRow row : rows) {
+                    try {
+                        write(List.of(row));
+                    } catch (DataAccessException rowException) {
+                        reject(row.row(), row.sku(), "Could not be saved: "
+                                + NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+                    }
+                }
+            }
+        }
+
+        private void write(List<ProductRow> rows) {
+            List<String> skus = rows.stream().map(ProductRow::sku).toList();
+            LocalDateTime now = LocalDateTime.now();
+
+            WrittenBatch written = transactionTemplate.execute(status -> {
+                Map<String, Long> existing = idsBySku(skus);
+                jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, rows, rows.size(), (statement, row) -> {
+                    statement.setString(1, row.name());
+                    statement.setString(2, row.sku());
+                    statement.setBigDecimal(3, row.price());
+                    statement.setObject(4, row.stockQuantity(), Types.INTEGER);
+                    statement.setString(5, row.description());
+                    statement.setObject(6, row.expiryDate());
+                    statement.setLong(7, row.category().getId());
+                    statement.setLong(8, row.supplier().getId());
+                    statement.setObject(9, now);
+                    statement.setObject(10, now);
+                    statement.setObject(11, row.stockQuantity(), Types.INTEGER);
+                });
+                return new WrittenBatch(existing, idsBySku(skus));
+            });
+            batches++;
+
+            List<Product> indexed = new ArrayList<>(rows.size());
+            for (ProductRow row : rows) {
+                if (written.existing().containsKey(row.sku())) updated++;
+                else inserted++;
+                indexed.add(row.toProduct(written.ids().get(row.sku())));
+            }
+            productSearchIndex.indexAll(indexed);
+        }
+
+        void reject(long row, String sku, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDTO(row, sku, message));
+            }
+        }
+
+        ImportReportDTO report(long elapsedNanos) {
+            long elapsedMillis = elapsedNanos / 1_000_000;
+            return ImportReportDTO.builder()
+                    .rowsRead(rowsRead)
+                    .inserted(inserted)
+                    .updated(updated)
+                    .failed(failed)
+                    .batches(batches)
+                    .elapsedMillis(elapsedMillis)
+                    .rowsPerSecond(rowsRead * 1000 / Math.max(elapsedMillis, 1))
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+
+    //sku -> id, keyed case-insensitively because the column collation is
+    private Map<String, Long> idsBySku(List<String> skus) {
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        jdbcTemplate.query(IDS_BY_SKU_SQL, Map.of("skus", skus),
+                (RowCallbackHandler) resultSet -> ids.put(resultSet.getString(1), resultSet.getLong(2)));
+        return ids;
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        try {
+            BigDecimal price = new BigDecimal(value.trim());
+            if (price.signum() > 0) return price;
+        } catch (NullPointerException | NumberFormatException ignored) {
+            //reported below
+        }
+        throw new IllegalArgumentException("Price must be a positive number");
+    }
+
+    //null when the file has no stock value, so an update leaves the stock as it is
+    private static Integer parseStockQuantity(String value) {
+        if (trimToNull(value) == null) return null;
+        try {
+            int quantity = Integer.parseInt(value.trim());
+            if (quantity >= 0) return quantity;
+        } catch (NumberFormatException ignored) {
+            //reported below
+        }
+        throw new IllegalArgumentException("Stock quantity must be a whole number of zero or more");
+    }
+
+    //ISO date-time, or a plain ISO date meaning the start of that day
+    private static LocalDateTime parseExpiryDate(String value) {
+        String text = trimToNull(value);
+        if (text == null) return null;
+        try {
+            return text.length() == 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Expiry date must be an ISO date like 2026-12-31 or 2026-12-31T00:00:00");
+        }
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(field + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    //categories or suppliers by id and by case-insensitive name, loaded once per import
+    private static final class Lookup<T> {
+
+        private final String label;
+        private final Map<Long, T> byId = new HashMap<>();
+        private final Map<String, T> byName = new HashMap<>();
+        private final Set<String> ambiguousNames = new HashSet<>();
+
+        Lookup(String label, List<T> values, Function<T, Long> id, Function<T, String> name) {
+            this.label = label;
+            for (T value : values) {
+                byId.put(id.apply(value), value);
+                if (name.apply(value) != null) {
+                    String key = name.apply(value).trim().toLowerCase(Locale.ROOT);
+                    if (byName.putIfAbsent(key, value) != null) {
+                        ambiguousNames.add(key);
+                    }
+                }
+            }
+        }
+
+        T resolve(String idValue, String nameValue) {
+            String id = trimToNull(idValue);
+            if (id != null) {
+                T value;
+                try {
+                    value = byId.get(Long.valueOf(id));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(label + " id must be a number");
+                }
+                if (value == null) throw new IllegalArgumentException(label + " " + id + " does not exist");
+                return value;
+            }
+
+            String name = trimToNull(nameValue);
+            if (name == null) {
+                throw new IllegalArgumentException(label + " is required, give its id or name");
+            }
+            String key = name.toLowerCase(Locale.ROOT);
+            if (ambiguousNames.contains(key)) {
+                throw new IllegalArgumentException(label + " name '" + name + "' matches more than one, use its id");
+            }
+            T value = byName.get(key);
+            if (value == null) throw new IllegalArgumentException(label + " '" + name + "' does not exist");
+            return value;
+        }
+    }
+
+    private record ProductRow(long row, String sku, String name, BigDecimal price, Integer stockQuantity,
+                              String description, LocalDateTime expiryDate, Category category, Supplier supplier) {
+
+        //enough of a product for the search index, which only reads names and ids
+        Product toProduct(Long id) {
+            return Product.builder()
+                    .id(id)
+                    .name(name)
+                    .sku(sku)
+                    .description(description)
+                    .category(category)
+                    .supplier(supplier)
+                    .build();
+        }
+    }
+
+    //ids by sku from before and after the upsert, so a row counts as an update only if its sku was there already
+    private record WrittenBatch(Map<String, Long> existing, Map<String, Long> ids) {
+    }
+}
@@ -1,67 +1,79 @@
 package com.phegondev.InventoryMgtSystem.services.impl;
 
-import java.io.File;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.phegondev.InventoryMgtSystem.dtos.ImageUploadRequest;
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductListRequest;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.images.ImageStore;
+import com.phegondev.InventoryMgtSystem.images.ImageVariantGenerator;
+import com.phegondev.InventoryMgtSystem.images.StagedImage;
+import com.phegondev.InventoryMgtSystem.images.StoredImage;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
 import com.phegondev.InventoryMgtSystem.models.Category;
 import com.phegondev.InventoryMgtSystem.models.Product;
 import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
 import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
 import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
 import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
+import com.phegondev.InventoryMgtSystem.search.SearchHits;
 import com.phegondev.InventoryMgtSystem.services.ProductService;
+import com.phegondev.InventoryMgtSystem.specification.ProductFilter;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+//every public method is timed as inventory.service, tagged with its class, method and exception
+@Timed(value = "inventory.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
-    private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
     private final CategoryRepository categoryRepository;
     private final SupplierRepository supplierRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ImageStore imageStore;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final StockLedger stockLedger;
 
-    // All images will be stored in: <backend-root>/uploads/
-    private static final String UPLOAD_DIR =
-            System.getProperty("user.dir") + "/uploads/";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
 
     // -----------------------------------------------------------
     // SAVE PRODUCT
     // -----------------------------------------------------------
     @Override
+    @Transactional
     public Response saveProduct(ProductDTO productDTO, MultipartFile imageFile) {
 
-        log.info("🔥 DEBUG: saveProduct() called");
-        log.info("DTO: {}", productDTO);
-
         Category category = categoryRepository.findById(productDTO.getCategoryId())
-                .orElseThrow(() -> {
-                    log.error("❌ Category NOT FOUND: {}", productDTO.getCategoryId());
-                    return new NotFoundException("Category Not Found");
-                });
-
-        log.info("✔ Category found: {}", category.getName());
+                .orElseThrow(() -> new NotFoundException("Category Not Found"));
 
         Supplier supplier = supplierRepository.findById(productDTO.getSupplierId())
-                .orElseThrow(() -> {
-                    log.error("❌ Supplier NOT FOUND: {}", productDTO.getSupplierId());
-                    return new NotFoundException("Supplier Not Found");
-                });
-
-        log.info("✔ Supplier found: {}", supplier.getName());
+                .orElseThrow(() -> new NotFoundException("Supplier Not Found"));
 
         Product productToSave = Product.builder()
                 .name(productDTO.getName())
@@ -73,26 +85,19 @@ public class ProductServiceImpl implements ProductService {
                 .supplier(supplier)
                 .build();
 
-        log.info("🔥 Product BEFORE SAVE: {}", productToSave);
-
-        if (imageFile != null && !imageFile.isEmpty()) {
-            log.info("Saving image...");
-            String imagePath = saveImage(imageFile);   // ✅ use saveImage(), not saveImage2
-            productToSave.setImageUrl(imagePath);
-            log.info("✔ Image saved: {}", imagePath);
-        } else {
-            log.info("⚠ No image uploaded");
+        StagedImage staged = stageImage(imageFile);
+        StoredImage image = staged != null ? staged.image() : uploadedImage(productDTO.getImageKey());
+        if (image != null) {
+            productToSave.setImageUrl(image.url());
         }
 
-        log.info("🚨 ATTEMPTING TO SAVE PRODUCT TO DB NOW...");
+        productRepository.save(productToSave);
+        log.debug("Saved product {} ({})", productToSave.getId(), productToSave.getSku());
 
-        try {
-            productRepository.save(productToSave);
-            log.info("✔✔✔ Product saved successfully!");
-        } catch (Exception e) {
-            log.error("❌❌❌ ERROR saving product: {}", e.getMessage(), e);
-            throw e;
-        }
+        afterCommit(() -> {
+            productSearchIndex.index(productToSave);
+            queueImage(productToSave.getId(), staged, image);
+        });
 
         return Response.builder()
                 .status(200)
@@ -103,15 +108,21 @@ public class ProductServiceImpl implements ProductService {
     // -----------------------------------------------------------
     // UPDATE PRODUCT
     // -----------------------------------------------------------
+    // the field changes and a new stock count commit together; the index and the variants only see committed rows
     @Override
+    @Transactional
     public Response updateProduct(ProductDTO productDTO, MultipartFile imageFile) {
 
-        Product existingProduct = productRepository.findById(productDTO.getProductId())
+        Product existingProduct = productRepository.findWithCategoryAndSupplierById(productDTO.getProductId())
                 .orElseThrow(() -> new NotFoundException("Product Not Found"));
 
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String imagePath = saveImage(imageFile);   // ✅ use same upload dir
-            existingProduct.setImageUrl(imagePath);
+        // New image: the old variants no longer match it, the list falls back to the original until new ones are rendered
+        StagedImage staged = stageImage(imageFile);
+        StoredImage image = staged != null ? staged.image() : uploadedImage(productDTO.getImageKey());
+        if (image != null) {
+            existingProduct.setImageUrl(image.url());
+            existingProduct.setThumbnailUrl(null);
+            existingProduct.setMediumImageUrl(null);
         }
 
         // Category update
@@ -132,9 +143,16 @@ public class ProductServiceImpl implements ProductService {
         if (productDTO.getSku() != null) existingProduct.setSku(productDTO.getSku());
         if (productDTO.getDescription() != null) existingProduct.setDescription(productDTO.getDescription());
         if (productDTO.getPrice() != null) existingProduct.setPrice(productDTO.getPrice());
-        if (productDTO.getStockQuantity() != null) existingProduct.setStockQuantity(productDTO.getStockQuantity());
 
         productRepository.save(existingProduct);
+        // stock is not written by the save above; setting it in place leaves concurrent sales and purchases intact
+        if (productDTO.getStockQuantity() != null) {
+            stockLedger.set(existingProduct.getId(), productDTO.getStockQuantity());
+        }
+        afterCommit(() -> {
+            productSearchIndex.index(existingProduct);
+            queueImage(existingProduct.getId(), staged, image);
+        });
 
         return Response.builder()
                 .status(200)
@@ -143,27 +161,103 @@ public class ProductServiceImpl implements ProductService {
     }
 
     // -----------------------------------------------------------
-    // GET ALL PRODUCTS
+    // DIRECT IMAGE UPLOAD
     // -----------------------------------------------------------
     @Override
-    public Response getAllProducts() {
+    public Response requestImageUpload(ImageUploadRequest request) {
+
+        return imageStore.prepareUpload(request)
+                .map(upload -> Response.builder()
+                        .status(200)
+                        .message("success")
+                        .imageUpload(upload)
+                        .build())
+                .orElseGet(() -> Response.builder()
+                        .status(200)
+                        .message("Direct uploads are not available, send the image with the product")
+                        .build());
+    }
 
-        List<Product> productList =
-                productRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+    // runs once the surrounding transaction commits and not at all if it rolls back; right away without one
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
-        List<ProductDTO> productDTOList =
-                modelMapper.map(productList, new TypeToken<List<ProductDTO>>(){}.getType());
+    // a file sent with the form is only hashed here, its copy is stored with the variants once the product commits;
+    // whatever fails after this point, a rollback deletes the copy
+    private StagedImage stageImage(MultipartFile imageFile) {
+        if (imageFile == null || imageFile.isEmpty()) return null;
+
+        StagedImage staged = imageStore.stage(imageFile);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) imageStore.discard(staged);
+                }
+            });
+        }
+        return staged;
+    }
 
-        productDTOList.forEach(dto -> {
-                Product product = productRepository.findById(dto.getId()).get();
-                dto.setSupplierName(product.getSupplier().getName());
-    });
+    // a key names an image the browser put in storage itself
+    private StoredImage uploadedImage(String imageKey) {
+        return imageKey != null && !imageKey.isBlank() ? imageStore.uploaded(imageKey) : null;
+    }
 
+    private void queueImage(Long productId, StagedImage staged, StoredImage image) {
+        if (staged != null) {
+            imageVariantGenerator.generate(productId, staged);
+        } else if (image != null) {
+            imageVariantGenerator.generate(productId, image);
+        }
+    }
 
-        return Response.builder()
-                .status(200)
-                .message("success")
-                .products(productDTOList)
+    // -----------------------------------------------------------
+    // GET ALL PRODUCTS
+    // -----------------------------------------------------------
+    @Override
+    public PageResponse<ProductDTO> getAllProducts(ProductListRequest listRequest) {
+
+        int size = listRequest.getSize() == null
+                ? DEFAULT_PAGE_SIZE
+                : Math.min(Math.max(listRequest.getSize(), 1), MAX_PAGE_SIZE);
+        String sortBy = ProductFilter.SORT_BY_NAME.equals(listRequest.getSortBy())
+                ? ProductFilter.SORT_BY_NAME
+                : ProductFilter.SORT_BY_ID;
+
+        Specification<Product> filter = ProductFilter.byFilter(
+                listRequest.getCategoryId(),
+                listRequest.getSupplierId(),
+                listRequest.getMinStock(),
+                listRequest.getMaxStock());
+
+        // fetch one extra row to know whether there is a next page without counting
+        List<ProductView> productList = productRepository.findViews(
+                filter.and(ProductFilter.afterCursor(listRequest.getCursor(), sortBy)),
+                ProductFilter.sortFor(sortBy),
+                size + 1);
+
+        boolean hasNext = productList.size() > size;
+        if (hasNext) {
+            productList = productList.subList(0, size);
+        }
+
+        List<ProductDTO> productDTOList = dtoMapper.toList(productList, dtoMapper::toProductDTO);
+
+        return PageResponse.<ProductDTO>builder()
+                .items(productDTOList)
+                .nextCursor(hasNext ? ProductFilter.cursorFor(productList.get(size - 1), sortBy) : null)
+                .total(listRequest.isIncludeTotal() ? productRepository.count(filter) : null)
                 .build();
     }
 
@@ -173,16 +267,21 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Response getProductById(Long id) {
 
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithCategoryAndSupplierById(id)
                 .orElseThrow(() -> new NotFoundException("Product Not Found"));
 
         return Response.builder()
                 .status(200)
                 .message("success")
-                .product(modelMapper.map(product, ProductDTO.class))
+                .product(dtoMapper.toProductDTO(product))
                 .build();
     }
 
+    @Override
+    public VersionStamp getProductVersion(Long id) {
+        return productRepository.findVersionById(id);
+    }
+
     // -----------------------------------------------------------
     // DELETE PRODUCT
     // -----------------------------------------------------------
@@ -193,6 +292,7 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new NotFoundException("Product Not Found"));
 
         productRepository.deleteById(id);
+        productSearchIndex.remove(id);
 
         return Response.builder()
                 .status(200)
@@ -204,53 +304,58 @@ public class ProductServiceImpl implements ProductService {
     // SEARCH PRODUCT
     // -----------------------------------------------------------
     @Override
-    public Response searchProduct(String input) {
+    public Response searchProduct(String input, int page, int size) {
 
-        List<Product> products =
-                productRepository.findByNameContainingOrDescriptionContaining(input, input);
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        SearchHits hits = productSearchIndex.search(input, Math.max(page, 0), pageSize);
 
-        if (products.isEmpty()) {
+        if (hits.getTotalMatches() == 0) {
             throw new NotFoundException("Product Not Found");
         }
 
-        List<ProductDTO> productDTOList =
-                modelMapper.map(products, new TypeToken<List<ProductDTO>>(){}.getType());
+        // one query for the page, then back into the index's ranking order
+        Map<Long, ProductView> productsById = productRepository.findViewsByIdIn(hits.getProductIds())
+                .stream()
+                .collect(Collectors.toMap(ProductView::id, Function.identity()));
+
+        List<ProductView> products = hits.getProductIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // ids the database no longer has were deleted on another node since the last reconcile: drop them now
+        long totalMatches = hits.getTotalMatches();
+        for (Long productId : hits.getProductIds()) {
+            if (!productsById.containsKey(productId)) {
+                productSearchIndex.remove(productId);
+                totalMatches--;
+            }
+        }
+        if (totalMatches == 0) {
+            throw new NotFoundException("Product Not Found");
+        }
+
+        List<ProductDTO> productDTOList = dtoMapper.toList(products, dtoMapper::toProductDTO);
 
         return Response.builder()
                 .status(200)
                 .message("success")
                 .products(productDTOList)
+                .totalElements(totalMatches)
+                .totalPages((int) ((totalMatches + pageSize - 1) / pageSize))
                 .build();
     }
 
     // -----------------------------------------------------------
-    // IMAGE SAVE METHOD - BACKEND /uploads/ FOLDER
+    // PRODUCT OPTIONS (dropdowns)
     // -----------------------------------------------------------
-    @SuppressWarnings("null")
-    private String saveImage(MultipartFile imageFile) {
-
-        if (!imageFile.getContentType().startsWith("image/")) {
-            throw new IllegalArgumentException("Only image files allowed");
-        }
-
-        File directory = new File(UPLOAD_DIR);
-
-        if (!directory.exists()) {
-            directory.mkdirs();
-            log.info("Created image directory: {}", UPLOAD_DIR);
-        }
-
-        String fileName = UUID.randomUUID() + "_" + imageFile.getOriginalFilename();
-        String absolutePath = UPLOAD_DIR + fileName;
-
-        try {
-            imageFile.transferTo(new File(absolutePath));
-        } catch (Exception e) {
-            log.error("Error saving image: {}", e.getMessage(), e);
-            throw new RuntimeException("Error saving image");
-        }
+    @Override
+    public Response getProductOptions() {
 
-        // Store relative path in DB
-        return "uploads/" + fileName;
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .options(productRepository.findOptionsBy(Sort.by(Sort.Direction.ASC, "name")))
+                .build();
     }
 }
@@ -0,0 +1,124 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.enums.RollupDimension;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps the transaction_rollups buckets in step with the transactions table.
+ * <p>
+ * Each transaction adds to a DAY and a MONTH bucket for the overall total, its
+ * product and (when there is one) its supplier. Deltas are summed in memory first,
+ * so a batch costs one upsert per touched bucket, and buckets are always written in
+ * the same order so concurrent writers lock them in the same order. Each call
+ * writes to one randomly picked shard row per bucket, so writers for different
+ * products do not all queue on the same overall-total rows. Like
+ * {@link StockLedger}, every call joins the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupLedger {
+
+    private static final long NO_DIMENSION = 0L;
+    private static final int SHARDS = 8;
+
+    private final TransactionRollupRepository rollupRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<Transaction> transactions) {
+        Map<Bucket, Totals> deltas = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            add(deltas, transaction, transaction.getStatus(), 1);
+        }
+        apply(deltas, ThreadLocalRandom.current().nextInt(SHARDS));
+    }
+
+    //moves a transaction's amounts from its previous status bucket to its current one
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moveStatus(Transaction transaction, TransactionStatus previousStatus) {
+        if (previousStatus == transaction.getStatus()) return;
+
+        Map<Bucket, Totals> deltas = new TreeMap<>();
+        add(deltas, transaction, previousStatus, -1);
+        add(deltas, transaction, transaction.getStatus(), 1);
+        apply(deltas, ThreadLocalRandom.current().nextInt(SHARDS));
+    }
+
+    private void add(Map<Bucket, Totals> deltas, Transaction transaction, TransactionStatus status, int sign) {
+        LocalDate day = transaction.getCreatedAt().toLocalDate();
+        LocalDate month = day.withDayOfMonth(1);
+
+        long products = transaction.getTotalProducts() != null ? transaction.getTotalProducts() : 0;
+        BigDecimal price = transaction.getTotalPrice() != null ? transaction.getTotalPrice() : BigDecimal.ZERO;
+        Totals delta = new Totals(sign, sign * products, sign < 0 ? price.negate() : price);
+
+        for (RollupPeriod period : RollupPeriod.values()) {
+            LocalDate periodStart = period == RollupPeriod.DAY ? day : month;
+
+            merge(deltas, new Bucket(period, periodStart, RollupDimension.TOTAL, NO_DIMENSION,
+                    transaction.getTransactionType(), status), delta);
+            merge(deltas, new Bucket(period, periodStart, RollupDimension.PRODUCT, transaction.getProduct().getId(),
+                    transaction.getTransactionType(), status), delta);
+            if (transaction.getSupplier() != null) {
+                merge(deltas, new Bucket(period, periodStart, RollupDimension.SUPPLIER, transaction.getSupplier().getId(),
+                        transaction.getTransactionType(), status), delta);
+            }
+        }
+    }
+
+    private void merge(Map<Bucket, Totals> deltas, Bucket bucket, Totals delta) {
+        deltas.merge(bucket, delta, Totals::plus);
+    }
+
+    private void apply(Map<Bucket, Totals> deltas, int shard) {
+        deltas.forEach((bucket, totals) -> rollupRepository.upsert(
+                bucket.period().name(),
+                bucket.periodStart(),
+                bucket.dimension().name(),
+                bucket.dimensionId(),
+                bucket.transactionType().name(),
+                bucket.status().name(),
+                shard,
+                totals.count(),
+                totals.products(),
+                totals.price()));
+    }
+
+    private record Bucket(RollupPeriod period, LocalDate periodStart, RollupDimension dimension, long dimensionId,
+                          TransactionType transactionType, TransactionStatus status) implements Comparable<Bucket> {
+
+        private static final Comparator<Bucket> ORDER = Comparator.comparing(Bucket::period)
+                .thenComparing(Bucket::periodStart)
+                .thenComparing(Bucket::dimension)
+                .thenComparingLong(Bucket::dimensionId)
+                .thenComparing(Bucket::transactionType)
+                .thenComparing(Bucket::status);
+
+        @Override
+        public int compareTo(Bucket other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Totals(long count, long products, BigDecimal price) {
+
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, products + other.products, price.add(other.price));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.exceptions.InsufficientStockException;
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies stock deltas with conditional UPDATE statements instead of
+ * read-modify-write on the entity, so concurrent purchases and sales of the
+ * same product cannot lose updates.
+ * <p>
+ * Receipts and releases must join the caller's transaction, so the stock change
+ * commits or rolls back together with the Transaction row that records it. A
+ * stock count set by editing the product records no Transaction and may run on
+ * its own.
+ * <p>
+ * The product entity never writes stock_quantity on update, so these
+ * statements are the only way stock changes after a product is created.
+ * <p>
+ * Applied changes are counted as inventory.stock.mutations and
+ * inventory.stock.units (tagged direction=in/out), counts set by an edit as
+ * inventory.stock.mutations (tagged direction=set), refused ones as
+ * inventory.stock.rejections (tagged reason). The counts are taken when the
+ * statement runs, so a change whose transaction later rolls back is still counted.
+ */
+@Component
+@Slf4j
+public class StockLedger {
+
+    private final ProductRepository productRepository;
+
+    private final Counter receivedMutations;
+    private final Counter receivedUnits;
+    private final Counter releasedMutations;
+    private final Counter releasedUnits;
+    private final Counter setMutations;
+    private final Counter insufficientStock;
+    private final Counter productNotFound;
+
+    public StockLedger(ProductRepository productRepository, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.productRepository = productRepository;
+
+        //without a registry (slice tests) the counts go nowhere
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.receivedMutations = mutations(registry, "in");
+        this.receivedUnits = units(registry, "in");
+        this.releasedMutations = mutations(registry, "out");
+        this.releasedUnits = units(registry, "out");
+        this.setMutations = mutations(registry, "set");
+        this.insufficientStock = rejections(registry, "insufficient_stock");
+        this.productNotFound = rejections(registry, "product_not_found");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void receive(Long productId, int quantity) {
+        if (productRepository.incrementStock(productId, quantity) == 0) {
+            productNotFound.increment();
+            throw new NotFoundException("Product Not Found");
+        }
+        receivedMutations.increment();
+        receivedUnits.increment(quantity);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long productId, int quantity) {
+        if (productRepository.decrementStock(productId, quantity) == 0) {
+            // either the product is gone or there is not enough stock left
+            if (!productRepository.existsById(productId)) {
+                productNotFound.increment();
+                throw new NotFoundException("Product Not Found");
+            }
+            insufficientStock.increment();
+            log.warn("Insufficient stock for product {} (requested {})", productId, quantity);
+            throw new InsufficientStockException("Insufficient Stock For Product");
+        }
+        releasedMutations.increment();
+        releasedUnits.increment(quantity);
+    }
+
+    @Transactional
+    public void set(Long productId, int quantity) {
+        if (quantity < 0) throw new IllegalArgumentException("stock quantity cannot be negative");
+        if (productRepository.setStock(productId, quantity) == 0) {
+            productNotFound.increment();
+            throw new NotFoundException("Product Not Found");
+        }
+        setMutations.increment();
+    }
+
+    private static Counter mutations(MeterRegistry registry, String direction) {
+        return Counter.builder("inventory.stock.mutations")
+                .description("Stock changes applied")
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    private static Counter units(MeterRegistry registry, String direction) {
+        return Counter.builder("inventory.stock.units")
+                .description("Units moved by applied stock changes")
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("inventory.stock.rejections")
+                .description("Stock changes refused")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -4,13 +4,15 @@ package com.phegondev.InventoryMgtSystem.services.impl;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.dtos.SupplierDTO;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
 import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
 import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
 import com.phegondev.InventoryMgtSystem.services.SupplierService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +26,8 @@ public class SupplierServiceImpl implements SupplierService {
 
     private final SupplierRepository supplierRepository;
     private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
+    private final ProductSearchIndex productSearchIndex;
 
 
     @Override
@@ -50,6 +54,7 @@ public class SupplierServiceImpl implements SupplierService {
         if (supplierDTO.getAddress() != null) existingSupplier.setAddress(supplierDTO.getAddress());
 
         supplierRepository.save(existingSupplier);
+        if (supplierDTO.getName() != null) productSearchIndex.renameSupplier(id, existingSupplier.getName());
 
         return Response.builder()
                 .status(200)
@@ -62,8 +67,7 @@ public class SupplierServiceImpl implements SupplierService {
 
         List<Supplier> suppliers = supplierRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        List<SupplierDTO> supplierDTOList = modelMapper.map(suppliers, new TypeToken<List<SupplierDTO>>() {
-        }.getType());
+        List<SupplierDTO> supplierDTOList = dtoMapper.toList(suppliers, dtoMapper::toSupplierDTO);
 
         return Response.builder()
                 .status(200)
@@ -72,13 +76,28 @@ public class SupplierServiceImpl implements SupplierService {
                 .build();
     }
 
+    @Override
+    public VersionStamp getSuppliersVersion() {
+        return supplierRepository.findVersion();
+    }
+
+    @Override
+    public Response getSupplierOptions() {
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .options(supplierRepository.findOptionsBy(Sort.by(Sort.Direction.ASC, "name")))
+                .build();
+    }
+
     @Override
     public Response getSupplierById(Long id) {
 
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Supplier Not Found"));
 
-        SupplierDTO supplierDTO = modelMapper.map(supplier, SupplierDTO.class);
+        SupplierDTO supplierDTO = dtoMapper.toSupplierDTO(supplier);
 
         return Response.builder()
                 .status(200)
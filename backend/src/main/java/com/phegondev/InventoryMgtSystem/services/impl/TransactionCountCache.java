@@ -0,0 +1,48 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Totals for the transactions listing, per filter.
+ * <p>
+ * A filtered COUNT(*) over the transactions table scans everything the filter
+ * matches, which for years of history costs far more than the page it is shown
+ * next to. The total is a "how many, roughly" figure. Each filter is counted at
+ * most once per TTL, and in between the total may lag behind new transactions
+ * by up to that long.
+ */
+@Component
+public class TransactionCountCache {
+
+    private final Cache<TransactionFilterRequest, Long> cache;
+
+    public TransactionCountCache(@Value("${app.transactions.count-cache.max-size:1000}") long maxSize,
+                                 @Value("${app.transactions.count-cache.ttl:30s}") Duration ttl,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "transactionCounts"));
+    }
+
+    public long get(TransactionFilterRequest filter, Supplier<Long> count) {
+        //the key is a copy, so a caller changing its filter afterwards cannot corrupt the entry
+        TransactionFilterRequest key = new TransactionFilterRequest(filter.getTransactionType(), filter.getStatus(),
+                filter.getProductId(), filter.getSupplierId(), filter.getUserId(), filter.getFrom(), filter.getTo(),
+                filter.getText() == null || filter.getText().isBlank() ? null : filter.getText().trim());
+        return cache.get(key, ignored -> count.get());
+    }
+}
@@ -0,0 +1,159 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.enums.ExportFormat;
+import com.phegondev.InventoryMgtSystem.exceptions.TooManyRequestsException;
+import com.phegondev.InventoryMgtSystem.projections.TransactionExportRow;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.services.TransactionExportService;
+import com.phegondev.InventoryMgtSystem.specification.TransactionFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Writes the transactions matching a {@link TransactionFilter} as CSV or NDJSON.
+ * <p>
+ * Rows come off a forward-only cursor as flat projections and are written out
+ * one at a time, so heap use does not grow with the date range: nothing is
+ * collected into a list and no entity is attached to the persistence context.
+ * <p>
+ * A running export holds a pooled connection for as long as the client keeps
+ * reading, so at most {@code app.export.max-concurrent} run at once; the rest
+ * are turned away before the response starts instead of starving the pool. The
+ * slot belongs to the caller, which also has to give it back when the export
+ * never gets to run.
+ */
+@Service
+@Slf4j
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    static final String CSV_HEADER = "id,createdAt,transactionType,status,totalProducts,totalPrice,"
+            + "productId,productSku,productName,supplierId,supplierName,userId,userEmail,description,note";
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+
+    public TransactionExportServiceImpl(TransactionRepository transactionRepository,
+                                        ObjectMapper objectMapper,
+                                        @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public ExportSlot reserveSlot() {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many exports running, try again shortly");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        };
+    }
+
+    //read-only: nothing to flush at commit, and InnoDB runs the long read without a transaction id
+    @Override
+    @Transactional(readOnly = true)
+    public long export(TransactionFilterRequest filterRequest, ExportFormat format, OutputStream outputStream) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count;
+
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRows(TransactionFilter.byFilter(filterRequest))) {
+            count = switch (format) {
+                case CSV -> writeCsv(rows.iterator(), writer);
+                case NDJSON -> writeNdjson(rows.iterator(), writer);
+            };
+        }
+        writer.flush();
+
+        log.info("Exported {} transactions as {}", count, format);
+        return count;
+    }
+
+    private long writeCsv(Iterator<TransactionExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(String.join(",",
+                    value(row.id()),
+                    value(row.createdAt()),
+                    value(row.transactionType()),
+                    value(row.status()),
+                    value(row.totalProducts()),
+                    value(row.totalPrice() != null ? row.totalPrice().toPlainString() : null),
+                    value(row.productId()),
+                    text(row.productSku()),
+                    text(row.productName()),
+                    value(row.supplierId()),
+                    text(row.supplierName()),
+                    value(row.userId()),
+                    text(row.userEmail()),
+                    text(row.description()),
+                    text(row.note())));
+            writer.write("\r\n");
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<TransactionExportRow> rows, Writer writer) throws IOException {
+        //the caller owns the writer, and flushing it after every row would send one tiny chunk per row
+        ObjectWriter rowWriter = objectMapper.writerFor(TransactionExportRow.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long count = 0;
+        try (SequenceWriter sequence = rowWriter.writeValues(writer)) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+                count++;
+            }
+        }
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    private static String value(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    //RFC 4180 quoting, and a leading formula character is neutralised so a spreadsheet shows it as text
+    static String text(String value) {
+        if (value == null || value.isEmpty()) return "";
+
+        String cell = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (cell.indexOf(',') < 0 && cell.indexOf('"') < 0 && cell.indexOf('\n') < 0 && cell.indexOf('\r') < 0) {
+            return cell;
+        }
+        return '"' + cell.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,13 +1,18 @@
 package com.phegondev.InventoryMgtSystem.services.impl;
 
 
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionBatchRequest;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionListRequest;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
 import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
 import com.phegondev.InventoryMgtSystem.enums.TransactionType;
 import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
 import com.phegondev.InventoryMgtSystem.models.Product;
 import com.phegondev.InventoryMgtSystem.models.Supplier;
 import com.phegondev.InventoryMgtSystem.models.Transaction;
@@ -15,36 +20,52 @@ import com.phegondev.InventoryMgtSystem.models.User;
 import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
 import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
 import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.security.CurrentUserResolver;
 import com.phegondev.InventoryMgtSystem.services.TransactionService;
-import com.phegondev.InventoryMgtSystem.services.UserService;
 import com.phegondev.InventoryMgtSystem.specification.TransactionFilter;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//every public method is timed as inventory.service, tagged with its class, method and exception
+@Timed(value = "inventory.service", histogram = true)
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
     private final ProductRepository productRepository;
     private final SupplierRepository supplierRepository;
-    private final UserService userService;
-    private final ModelMapper modelMapper;
+    private final CurrentUserResolver currentUserResolver;
+    private final StockLedger stockLedger;
+    private final RollupLedger rollupLedger;
+    private final DtoMapper dtoMapper;
+    private final TransactionCountCache transactionCountCache;
 
     @Override
+    @Transactional
     public Response purchase(TransactionRequest transactionRequest) {
 
         Long productId = transactionRequest.getProductId();
@@ -59,11 +80,10 @@ public class TransactionServiceImpl implements TransactionService {
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new NotFoundException("Supplier Not Found"));
 
-        User user = userService.getCurrentLoggedInUser();
+        User user = currentUserResolver.currentUserReference();
 
-        //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() + quantity);
-        productRepository.save(product);
+        //update the stock quantity in place
+        stockLedger.receive(productId, quantity);
 
         //create a transaction
         Transaction transaction = Transaction.builder()
@@ -79,6 +99,8 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(transaction);
+        rollupLedger.record(List.of(transaction));
+
         return Response.builder()
                 .status(200)
                 .message("Purchase Made successfully")
@@ -87,6 +109,7 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional
     public Response sell(TransactionRequest transactionRequest) {
 
         Long productId = transactionRequest.getProductId();
@@ -95,12 +118,10 @@ public class TransactionServiceImpl implements TransactionService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new NotFoundException("Product Not Found"));
 
-        User user = userService.getCurrentLoggedInUser();
-
-        //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
+        User user = currentUserResolver.currentUserReference();
 
+        //update the stock quantity in place, fails when there is not enough stock
+        stockLedger.release(productId, quantity);
 
         //create a transaction
         Transaction transaction = Transaction.builder()
@@ -115,6 +136,8 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(transaction);
+        rollupLedger.record(List.of(transaction));
+
         return Response.builder()
                 .status(200)
                 .message("Product Sale successfully made")
@@ -124,6 +147,7 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional
     public Response returnToSupplier(TransactionRequest transactionRequest) {
 
         Long productId = transactionRequest.getProductId();
@@ -138,12 +162,10 @@ public class TransactionServiceImpl implements TransactionService {
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new NotFoundException("Supplier Not Found"));
 
-        User user = userService.getCurrentLoggedInUser();
-
-        //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
+        User user = currentUserResolver.currentUserReference();
 
+        //update the stock quantity in place, fails when there is not enough stock
+        stockLedger.release(productId, quantity);
 
         //create a transaction
         Transaction transaction = Transaction.builder()
@@ -158,6 +180,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(transaction);
+        rollupLedger.record(List.of(transaction));
 
         return Response.builder()
                 .status(200)
@@ -167,29 +190,102 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public Response getAllTransactions(int page, int size, String filter) {
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-
-        //user the Transaction specification
-        Specification<Transaction> spec = TransactionFilter.byFilter(filter);
-        Page<Transaction> transactionPage = transactionRepository.findAll(spec, pageable);
-
-        List<TransactionDTO> transactionDTOS = modelMapper.map(transactionPage.getContent(), new TypeToken<List<TransactionDTO>>() {
-        }.getType());
-
-        transactionDTOS.forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setProduct(null);
-            transactionDTO.setSupplier(null);
+    @Transactional
+    public Response processBatch(TransactionBatchRequest batchRequest) {
+
+        List<TransactionRequest> requests = batchRequest.getTransactions();
+
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> supplierIds = new HashSet<>();
+        for (TransactionRequest request : requests) {
+            if (request.getTransactionType() == null) throw new NameValueRequiredException("Transaction Type is Required");
+            if (request.getTransactionType() != TransactionType.SALE && request.getSupplierId() == null) {
+                throw new NameValueRequiredException("Supplier Id is Required");
+            }
+            productIds.add(request.getProductId());
+            if (request.getSupplierId() != null) supplierIds.add(request.getSupplierId());
+        }
+
+        //resolve every referenced product and supplier with one IN query each
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != productIds.size()) throw new NotFoundException("Product Not Found");
+
+        Map<Long, Supplier> suppliers = supplierRepository.findAllById(supplierIds).stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+        if (suppliers.size() != supplierIds.size()) throw new NotFoundException("Supplier Not Found");
+
+        User user = currentUserResolver.currentUserReference();
+
+        //net stock change per product, applied in id order so concurrent batches lock rows in the same order
+        Map<Long, Integer> stockDeltas = new TreeMap<>();
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+
+        for (TransactionRequest request : requests) {
+            Product product = products.get(request.getProductId());
+            Integer quantity = request.getQuantity();
+            TransactionType type = request.getTransactionType();
+
+            int delta = type == TransactionType.PURCHASE ? quantity : -quantity;
+            stockDeltas.merge(product.getId(), delta, Integer::sum);
+
+            transactions.add(Transaction.builder()
+                    .transactionType(type)
+                    .status(type == TransactionType.RETURN_TO_SUPPLIER ? TransactionStatus.PROCESSING : TransactionStatus.COMPLETED)
+                    .product(product)
+                    .user(user)
+                    .supplier(request.getSupplierId() != null ? suppliers.get(request.getSupplierId()) : null)
+                    .totalProducts(quantity)
+                    .totalPrice(type == TransactionType.RETURN_TO_SUPPLIER
+                            ? BigDecimal.ZERO
+                            : product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                    .description(request.getDescription())
+                    .note(request.getNote())
+                    .build());
+        }
+
+        stockDeltas.forEach((productId, delta) -> {
+            if (delta > 0) stockLedger.receive(productId, delta);
+            if (delta < 0) stockLedger.release(productId, -delta);
         });
 
+        //inserted with JDBC batching (sequence ids + hibernate.jdbc.batch_size)
+        transactionRepository.saveAll(transactions);
+        rollupLedger.record(transactions);
+
         return Response.builder()
                 .status(200)
-                .message("success")
-                .transactions(transactionDTOS)
-                .totalElements(transactionPage.getTotalElements())
-                .totalPages(transactionPage.getTotalPages())
+                .message(transactions.size() + " Transactions Processed Successfully")
+                .build();
+    }
+
+    @Override
+    public PageResponse<TransactionDTO> getAllTransactions(TransactionListRequest listRequest, TransactionFilterRequest filterRequest) {
+
+        int size = listRequest.getSize() == null
+                ? DEFAULT_PAGE_SIZE
+                : Math.min(Math.max(listRequest.getSize(), 1), MAX_PAGE_SIZE);
+        Specification<Transaction> filter = TransactionFilter.byFilter(filterRequest);
+
+        // keyset on id: every page is an index range scan from the cursor, however deep,
+        // and one extra row tells whether there is a next page without counting
+        List<Transaction> transactions = transactionRepository.findBy(
+                filter.and(TransactionFilter.afterCursor(listRequest.getCursor())),
+                query -> query.sortBy(TransactionFilter.newestFirst()).limit(size + 1).all());
+
+        boolean hasNext = transactions.size() > size;
+        if (hasNext) {
+            transactions = transactions.subList(0, size);
+        }
+
+        List<TransactionDTO> transactionDTOS = dtoMapper.toList(transactions, dtoMapper::toTransactionDTO);
+
+        return PageResponse.<TransactionDTO>builder()
+                .items(transactionDTOS)
+                .nextCursor(hasNext ? TransactionFilter.cursorFor(transactions.get(size - 1)) : null)
+                .total(listRequest.isIncludeTotal()
+                        ? transactionCountCache.get(filterRequest, () -> transactionRepository.count(filter))
+                        : null)
                 .build();
 
     }
@@ -197,12 +293,10 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public Response getAllTransactionById(Long id) {
 
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = transactionRepository.findDetailById(id)
                 .orElseThrow(() -> new NotFoundException("Transaction Not Found"));
 
-        TransactionDTO transactionDTO = modelMapper.map(transaction, TransactionDTO.class);
-
-        transactionDTO.getUser().setTransactions(null);
+        TransactionDTO transactionDTO = dtoMapper.toTransactionDetailDTO(transaction);
 
         return Response.builder()
                 .status(200)
@@ -212,35 +306,43 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public Response getAllTransactionByMonthAndYear(int month, int year) {
-        List<Transaction> transactions = transactionRepository.findAll(TransactionFilter.byMonthAndYear(month, year));
+    public Response getAllTransactionByMonthAndYear(int month, int year, int page, int size) {
 
-        List<TransactionDTO> transactionDTOS = modelMapper.map(transactions, new TypeToken<List<TransactionDTO>>() {
-        }.getType());
+        if (month < 1 || month > 12) throw new IllegalArgumentException("Invalid month");
+        if (page < 0) throw new IllegalArgumentException("Invalid page");
 
-        transactionDTOS.forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setProduct(null);
-            transactionDTO.setSupplier(null);
-        });
+        //same cap as the keyset listing, a busy month must not come back as one page
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        //walks the (created_at, id) index in order instead of sorting the whole month
+        Pageable pageable = PageRequest.of(page, pageSize,
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        Page<Transaction> transactionPage = transactionRepository.findAll(TransactionFilter.byMonthAndYear(month, year), pageable);
+
+        List<TransactionDTO> transactionDTOS = dtoMapper.toList(transactionPage.getContent(), dtoMapper::toTransactionDTO);
 
         return Response.builder()
                 .status(200)
                 .message("success")
                 .transactions(transactionDTOS)
+                .totalElements(transactionPage.getTotalElements())
+                .totalPages(transactionPage.getTotalPages())
                 .build();
     }
 
     @Override
+    @Transactional
     public Response updateTransactionStatus(Long transactionId, TransactionStatus status) {
 
-        Transaction existingTransaction = transactionRepository.findById(transactionId)
+        Transaction existingTransaction = transactionRepository.findForUpdateById(transactionId)
                 .orElseThrow(() -> new NotFoundException("Transaction Not Found"));
 
+        TransactionStatus previousStatus = existingTransaction.getStatus();
         existingTransaction.setStatus(status);
         existingTransaction.setUpdateAt(LocalDateTime.now());
 
         transactionRepository.save(existingTransaction);
+        rollupLedger.moveStatus(existingTransaction, previousStatus);
 
         return Response.builder()
                 .status(200)
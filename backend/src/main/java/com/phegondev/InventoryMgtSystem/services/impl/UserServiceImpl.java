@@ -7,14 +7,14 @@ import com.phegondev.InventoryMgtSystem.dtos.UserDTO;
 import com.phegondev.InventoryMgtSystem.enums.UserRole;
 import com.phegondev.InventoryMgtSystem.exceptions.InvalidCredentialsException;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
 import com.phegondev.InventoryMgtSystem.models.User;
 import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import com.phegondev.InventoryMgtSystem.security.AuthUserCache;
 import com.phegondev.InventoryMgtSystem.security.JwtUtils;
 import com.phegondev.InventoryMgtSystem.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,8 +30,9 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
     private final JwtUtils jwtUtils;
+    private final AuthUserCache authUserCache;
 
 
     @Override
@@ -84,10 +85,7 @@ public class UserServiceImpl implements UserService {
 
         List<User> users = userRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        users.forEach(user -> user.setTransactions(null));
-
-        List<UserDTO> userDTOS = modelMapper.map(users, new TypeToken<List<UserDTO>>() {
-        }.getType());
+        List<UserDTO> userDTOS = dtoMapper.toList(users, dtoMapper::toUserDTO);
 
         return Response.builder()
                 .status(200)
@@ -114,9 +112,7 @@ public class UserServiceImpl implements UserService {
 
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
 
-        UserDTO userDTO = modelMapper.map(user, UserDTO.class);
-
-        userDTO.setTransactions(null);
+        UserDTO userDTO = dtoMapper.toUserDTO(user);
 
         return Response.builder()
                 .status(200)
@@ -139,6 +135,8 @@ public class UserServiceImpl implements UserService {
             existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         }
         userRepository.save(existingUser);
+        //cached principals still carry the old email/role, drop them so the next request reloads the user
+        authUserCache.evictUser(id);
 
         return Response.builder()
                 .status(200)
@@ -151,6 +149,7 @@ public class UserServiceImpl implements UserService {
         userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
 
         userRepository.deleteById(id);
+        authUserCache.evictUser(id);
 
         return Response.builder()
                 .status(200)
@@ -164,12 +163,8 @@ public class UserServiceImpl implements UserService {
 
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
 
-        UserDTO userDTO = modelMapper.map(user, UserDTO.class);
-
-        userDTO.getTransactions().forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setSupplier(null);
-        });
+        UserDTO userDTO = dtoMapper.toUserDTO(user);
+        userDTO.setTransactions(dtoMapper.toList(user.getTransactions(), dtoMapper::toTransactionWithProductDTO));
 
         return Response.builder()
                 .status(200)
@@ -0,0 +1,106 @@
+package com.phegondev.InventoryMgtSystem.specification;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+//Specification used for the paginated product listing
+public class ProductFilter {
+
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_NAME = "name";
+
+
+    public static Specification<Product> byFilter(Long categoryId, Long supplierId, Integer minStock, Integer maxStock) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Compare the foreign key columns directly, no join is needed for these
+            if (categoryId != null) {
+                predicates.add(criteriaBuilder.equal(root.get("category").get("id"), categoryId));
+            }
+            if (supplierId != null) {
+                predicates.add(criteriaBuilder.equal(root.get("supplier").get("id"), supplierId));
+            }
+            if (minStock != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("stockQuantity"), minStock));
+            }
+            if (maxStock != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("stockQuantity"), maxStock));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Keyset predicate: only rows strictly after the cursor in the listing order
+    public static Specification<Product> afterCursor(String cursor, String sortBy) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null || cursor.isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+
+            String[] parts = decode(cursor);
+            Long lastId = Long.valueOf(parts[0]);
+
+            if (SORT_BY_NAME.equals(sortBy)) {
+                // (name, id) ascending: name > :name OR (name = :name AND id > :id)
+                String lastName = parts.length > 1 ? parts[1] : "";
+                return criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.get("name"), lastName),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(root.get("name"), lastName),
+                                criteriaBuilder.greaterThan(root.get("id"), lastId)));
+            }
+
+            // id descending
+            return criteriaBuilder.lessThan(root.get("id"), lastId);
+        };
+    }
+
+    // Products written at or after the given time, for the search index reconcile
+    public static Specification<Product> updatedSince(LocalDateTime since) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("updatedAt"), since);
+    }
+
+    public static Sort sortFor(String sortBy) {
+        if (SORT_BY_NAME.equals(sortBy)) {
+            return Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        return Sort.by(Sort.Direction.DESC, "id");
+    }
+
+    public static String cursorFor(Product last, String sortBy) {
+        return cursorFor(last.getId(), last.getName(), sortBy);
+    }
+
+    public static String cursorFor(ProductView last, String sortBy) {
+        return cursorFor(last.id(), last.name(), sortBy);
+    }
+
+    private static String cursorFor(Long lastId, String lastName, String sortBy) {
+        String raw = SORT_BY_NAME.equals(sortBy)
+                ? lastId + ":" + lastName
+                : String.valueOf(lastId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            Long.parseLong(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,87 +1,150 @@
 package com.phegondev.InventoryMgtSystem.specification;
 
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
 import com.phegondev.InventoryMgtSystem.models.Transaction;
-import jakarta.persistence.criteria.Expression;
+import com.phegondev.InventoryMgtSystem.models.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 
 //Specification is used in Filtering data in a database
 public class TransactionFilter {
 
 
-    public static Specification<Transaction> byFilter(String searchValue) {
+    public static Specification<Transaction> byFilter(TransactionFilterRequest filter) {
         return (root, query, criteriaBuilder) -> {
-            // If filter is null or empty, return true for all transactions
-            if (searchValue == null || searchValue.isEmpty()) {
-                return criteriaBuilder.conjunction(); // Always true
-            }
-
-            String searchPattern = "%" + searchValue.toLowerCase() + "%";
-
-            // Create a list to hold all predicates
             List<Predicate> predicates = new ArrayList<>();
 
-            // Check transactions fields
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("note")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("status").as(String.class)), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("transactionType").as(String.class)), searchPattern));
-
-            // Safely join and check user fields using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("user"))) {
-                root.join("user", JoinType.LEFT);
+            // Exact matches, foreign keys are compared on the transactions table itself
+            if (filter.getTransactionType() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("transactionType"), filter.getTransactionType()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getProductId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("product").get("id"), filter.getProductId()));
+            }
+            if (filter.getSupplierId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("supplier").get("id"), filter.getSupplierId()));
+            }
+            if (filter.getUserId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("user").get("id"), filter.getUserId()));
             }
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("user", JoinType.LEFT).get("name")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("user", JoinType.LEFT).get("email")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("user", JoinType.LEFT).get("phoneNumber")), searchPattern));
 
-            // Safely join and check supplier fields using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("supplier"))) {
-                root.join("supplier", JoinType.LEFT);
+            // Half-open createdAt range so the created_at index can be used
+            if (filter.getFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("createdAt"), filter.getTo()));
             }
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("supplier", JoinType.LEFT).get("name")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("supplier", JoinType.LEFT).get("contactInfo")), searchPattern));
 
-            // Safely join and check product fields using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("product"))) {
-                root.join("product", JoinType.LEFT);
+            if (filter.getText() != null && !filter.getText().isBlank()) {
+                predicates.add(byText(root, criteriaBuilder, filter.getText().trim()));
             }
 
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT).get("name")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT).get("sku")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT).get("description")), searchPattern));
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Free text: prefix LIKE only (no leading wildcard, no lower() on the column) and the MySQL column collation
+    // is case-insensitive already. Each LIKE alone could use an index, but they are OR-ed across three left-joined
+    // tables, so MySQL reads every transaction the other filters leave and probes the joins for each. That is
+    // why the text is optional and only adds joins when present: a type, status, id or date range narrows the
+    // rows on the transactions table's own indexes first, and the text is applied to what is left.
+    private static Predicate byText(Root<Transaction> root, CriteriaBuilder criteriaBuilder, String text) {
+        String prefix = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        List<Predicate> predicates = new ArrayList<>();
+
+        Join<Transaction, Product> product = leftJoin(root, "product");
+        Join<Transaction, Supplier> supplier = leftJoin(root, "supplier");
+        Join<Transaction, User> user = leftJoin(root, "user");
+
+        predicates.add(criteriaBuilder.like(product.get("sku"), prefix, '\\'));
+        predicates.add(criteriaBuilder.like(product.get("name"), prefix, '\\'));
+        predicates.add(criteriaBuilder.like(supplier.get("name"), prefix, '\\'));
+        predicates.add(criteriaBuilder.like(user.get("name"), prefix, '\\'));
+        predicates.add(criteriaBuilder.like(user.get("email"), prefix, '\\'));
+
+        // A status, type or transaction id typed into the search box is matched exactly
+        String constant = text.toUpperCase(Locale.ROOT);
+        Arrays.stream(TransactionStatus.values())
+                .filter(status -> status.name().equals(constant))
+                .forEach(status -> predicates.add(criteriaBuilder.equal(root.get("status"), status)));
+        Arrays.stream(TransactionType.values())
+                .filter(type -> type.name().equals(constant))
+                .forEach(type -> predicates.add(criteriaBuilder.equal(root.get("transactionType"), type)));
+        if (text.chars().allMatch(Character::isDigit) && text.length() < 19) {
+            predicates.add(criteriaBuilder.equal(root.get("id"), Long.valueOf(text)));
+        }
+
+        return criteriaBuilder.or(predicates.toArray(new Predicate[0]));
+    }
 
-            // Safely join product category using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("product")) &&
-                    root.join("product").getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("category"))) {
-                root.join("product", JoinType.LEFT).join("category", JoinType.LEFT);
+    // Reuses an existing left join so each table is joined at most once per query
+    @SuppressWarnings("unchecked")
+    private static <Y> Join<Transaction, Y> leftJoin(Root<Transaction> root, String attribute) {
+        for (Join<Transaction, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute) && join.getJoinType() == JoinType.LEFT) {
+                return (Join<Transaction, Y>) join;
             }
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT)
-                    .join("category", JoinType.LEFT).get("name")), searchPattern));
+        }
+        return root.join(attribute, JoinType.LEFT);
+    }
 
-            // Combine all predicates with OR
-            return criteriaBuilder.or(predicates.toArray(new Predicate[0]));
-        };
+
+    // Keyset position for the id-descending listing: rows strictly older than the last one sent
+    public static Specification<Transaction> afterCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+        }
+        long lastId = decode(cursor);
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("id"), lastId);
     }
 
+    public static Sort newestFirst() {
+        return Sort.by(Sort.Direction.DESC, "id");
+    }
 
-    // New method for filtering transactions by month and year
-    public static Specification<Transaction> byMonthAndYear(int month, int year) {
-        return (root, query, criteriaBuilder) -> {
-            // Use the month and year functions on the createdAt date field
-            Expression<Integer> monthExpression = criteriaBuilder.function("month", Integer.class, root.get("createdAt"));
-            Expression<Integer> yearExpression = criteriaBuilder.function("year", Integer.class, root.get("createdAt"));
+    public static String cursorFor(Transaction last) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
 
-            // Create predicates for the month and year
-            Predicate monthPredicate = criteriaBuilder.equal(monthExpression, month);
-            Predicate yearPredicate = criteriaBuilder.equal(yearExpression, year);
+    private static long decode(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
 
-            // Combine the month and year predicates
-            return criteriaBuilder.and(monthPredicate, yearPredicate);
-        };
+
+    // Transactions of one calendar month as a createdAt range, month() and year() on the column would defeat its index
+    public static Specification<Transaction> byMonthAndYear(int month, int year) {
+        LocalDateTime start = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        LocalDateTime end = start.plusMonths(1);
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), start),
+                criteriaBuilder.lessThan(root.get("createdAt"), end));
     }
 }
@@ -0,0 +1,56 @@
+package com.phegondev.InventoryMgtSystem.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request issues, authentication included, and
+ * logs a warning when a request goes over {@code app.sql.request-budget}: the
+ * usual sign of an N+1 or a lazy-load cascade. {@link SqlBudgetHeaderAdvice}
+ * flags the response itself while it can still add a header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    static final String SCOPE_ATTRIBUTE = SqlBudgetFilter.class.getName() + ".scope";
+
+    private final int budget;
+
+    public SqlBudgetFilter(@Value("${app.sql.request-budget:20}") int budget) {
+        this.budget = budget;
+    }
+
+    int getBudget() {
+        return budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                request.removeAttribute(SCOPE_ATTRIBUTE);
+                if (scope.count() > budget) {
+                    log.warn("{} {} issued {} SQL statements, over the budget of {}",
+                            request.getMethod(), request.getRequestURI(), scope.count(), budget);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.phegondev.InventoryMgtSystem.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@value #HEADER} to responses of requests that are already over the
+ * statement budget when their body is written, the last point at which a header
+ * can still be set. Statements issued while serialising the body are only in the
+ * filter's log line.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class SqlBudgetHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Statements";
+
+    private final SqlBudgetFilter sqlBudgetFilter;
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> converterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(SqlBudgetFilter.SCOPE_ATTRIBUTE)
+                instanceof SqlStatementCounter.Scope scope
+                && scope.count() > sqlBudgetFilter.getBudget()) {
+            response.getHeaders().set(HEADER, String.valueOf(scope.count()));
+        }
+        return body;
+    }
+}
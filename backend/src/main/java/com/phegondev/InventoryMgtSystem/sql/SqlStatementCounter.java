@@ -0,0 +1,56 @@
+package com.phegondev.InventoryMgtSystem.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * {@link Scope} is open. Registered as Hibernate's statement inspector in
+ * application.properties, so it sees every statement from repositories, lazy
+ * loads and flushes, but not plain JDBC such as the product import.
+ * <p>
+ * Scopes nest: a statement counts towards every scope open on the thread, so a
+ * test can measure one call inside a request that is being measured as a whole.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+        }
+        return sql;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent != null) CURRENT.set(parent);
+                else CURRENT.remove();
+            }
+        }
+    }
+}
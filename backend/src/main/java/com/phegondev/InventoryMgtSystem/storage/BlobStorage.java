@@ -0,0 +1,47 @@
+package com.phegondev.InventoryMgtSystem.storage;
+
+import org.springframework.http.CacheControl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Where uploaded files live, addressed by a relative key such as
+ * {@code images/<sha256>.png}. Browsers always reach a blob through
+ * {@code /uploads/<key>}: served from disk by {@link LocalBlobStorage}, or
+ * redirected to the bucket when {@link #directUrl(String)} has a link, so the
+ * bytes never pass through this application. Backends that can also take an
+ * upload straight from the browser hand out a {@link #presignedUpload} link.
+ * <p>
+ * Selected with {@code app.storage.type} ({@code local} or {@code s3}), see StorageConfig.
+ */
+public interface BlobStorage {
+
+    String PUBLIC_PATH = "uploads/";
+
+    //keys are written once (images are named by their content hash), so a copy never goes stale
+    CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    //stores the file under key and takes ownership of it: the source may be moved or deleted
+    void put(String key, Path source, String contentType) throws IOException;
+
+    boolean exists(String key);
+
+    InputStream open(String key) throws IOException;
+
+    //a link the browser can fetch directly, empty when the blob is served by this application
+    Optional<URI> directUrl(String key);
+
+    //a link the browser can PUT the blob to directly, signed for this exact size and SHA-256 so the
+    //store refuses any other bytes; empty when uploads have to go through this application
+    Optional<PresignedUpload> presignedUpload(String key, String contentType, long size, byte[] sha256);
+
+    //the /uploads path stored on entities, independent of the backend
+    static String publicPath(String key) {
+        return PUBLIC_PATH + key;
+    }
+}
@@ -0,0 +1,70 @@
+package com.phegondev.InventoryMgtSystem.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Blobs as files under one root directory (by default {@code uploads/} in the
+ * working directory), served by StaticResourceConfig. Only suitable for a single
+ * node, as every node would need the same directory.
+ */
+public class LocalBlobStorage implements BlobStorage {
+
+    private final Path root;
+
+    public LocalBlobStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    //moved next to the target first so readers only ever see a complete file
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+
+        Path temp = Files.createTempFile(target.getParent(), ".blob-", ".part");
+        try {
+            Files.move(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Optional<URI> directUrl(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<PresignedUpload> presignedUpload(String key, String contentType, long size, byte[] sha256) {
+        return Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
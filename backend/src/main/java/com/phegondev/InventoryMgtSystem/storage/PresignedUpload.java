@@ -0,0 +1,9 @@
+package com.phegondev.InventoryMgtSystem.storage;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+
+//a short-lived PUT link for one blob; the request must carry every header listed, exactly as given
+public record PresignedUpload(URI url, Map<String, String> headers, Instant expiresAt) {
+}
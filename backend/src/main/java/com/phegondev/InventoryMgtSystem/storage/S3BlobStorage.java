@@ -0,0 +1,208 @@
+package com.phegondev.InventoryMgtSystem.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Blobs in an S3 bucket, or any S3-compatible store (MinIO, a local stand-in)
+ * through an endpoint override with path-style access.
+ * <p>
+ * Files above {@code multipartThreshold} are sent as a multipart upload, one
+ * {@code partSize} buffer at a time, so memory use does not depend on the file
+ * size; a failed upload is aborted so no orphaned parts are billed. Links are
+ * {@code publicUrl + key} when the bucket sits behind a CDN or is public, and
+ * short-lived presigned GETs otherwise.
+ * <p>
+ * Browsers can also upload straight to the bucket with a presigned PUT. It signs
+ * the content type, length and {@code x-amz-checksum-sha256}, so S3 rejects a
+ * body that is not the file the link was issued for. The bucket needs a CORS rule
+ * allowing PUT from the frontend's origin.
+ */
+@Slf4j
+public class S3BlobStorage implements BlobStorage {
+
+    static final long DEFAULT_MULTIPART_THRESHOLD = 16L * 1024 * 1024;
+    //S3 rejects parts smaller than 5 MB, except the last one
+    static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String publicUrl;
+    private final Duration presignTtl;
+    private final long multipartThreshold;
+    private final int partSize;
+
+    public S3BlobStorage(S3Client s3Client, S3Presigner presigner, String bucket, String publicUrl, Duration presignTtl) {
+        this(s3Client, presigner, bucket, publicUrl, presignTtl, DEFAULT_MULTIPART_THRESHOLD, DEFAULT_PART_SIZE);
+    }
+
+    S3BlobStorage(S3Client s3Client, S3Presigner presigner, String bucket, String publicUrl, Duration presignTtl,
+                  long multipartThreshold, int partSize) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.publicUrl = publicUrl == null || publicUrl.isBlank() ? null : publicUrl.replaceAll("/+$", "");
+        this.presignTtl = presignTtl;
+        this.multipartThreshold = multipartThreshold;
+        this.partSize = partSize;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try {
+            long size = Files.size(source);
+            if (size <= multipartThreshold) {
+                s3Client.putObject(PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .contentType(contentType)
+                                .cacheControl(CACHE_CONTROL.getHeaderValue())
+                                .build(),
+                        RequestBody.fromFile(source));
+            } else {
+                putMultipart(key, source, contentType);
+            }
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    private void putMultipart(String key, Path source, String contentType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .cacheControl(CACHE_CONTROL.getHeaderValue())
+                .build()).uploadId();
+
+        try (InputStream input = Files.newInputStream(source)) {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] buffer;
+            int partNumber = 1;
+            while ((buffer = input.readNBytes(partSize)).length > 0) {
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .build(),
+                        RequestBody.fromBytes(buffer)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Multipart upload of {} failed, aborting: {}", key, e.getMessage());
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return false;
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+    }
+
+    @Override
+    public Optional<URI> directUrl(String key) {
+        if (publicUrl != null) {
+            return Optional.of(URI.create(publicUrl + "/" + key));
+        }
+
+        GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                .signatureDuration(presignTtl)
+                .getObjectRequest(GetObjectRequest.builder().bucket(bucket).key(key).build())
+                .build();
+        try {
+            return Optional.of(presigner.presignGetObject(request).url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Presigned url is not a valid URI", e);
+        }
+    }
+
+    @Override
+    public Optional<PresignedUpload> presignedUpload(String key, String contentType, long size, byte[] sha256) {
+        PutObjectPresignRequest request = PutObjectPresignRequest.builder()
+                .signatureDuration(presignTtl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .cacheControl(CACHE_CONTROL.getHeaderValue())
+                        .checksumSHA256(Base64.getEncoder().encodeToString(sha256))
+                        .build())
+                .build();
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(request);
+
+        //a browser sets host and content-length itself and refuses to have them set
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            String lowerCase = name.toLowerCase(Locale.ROOT);
+            if (!lowerCase.equals("host") && !lowerCase.equals("content-length")) {
+                headers.put(lowerCase, String.join(",", values));
+            }
+        });
+
+        try {
+            return Optional.of(new PresignedUpload(presigned.url().toURI(), headers, presigned.expiration()));
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Presigned url is not a valid URI", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import com.phegondev.InventoryMgtSystem.security.AuthFilter;
+import com.phegondev.InventoryMgtSystem.security.AuthUserCache;
+import com.phegondev.InventoryMgtSystem.security.CustomUserDetailsService;
+import com.phegondev.InventoryMgtSystem.security.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of {@link AuthFilter} for a valid bearer token, with the
+ * principal cache hit against a filter that verifies and loads the user on
+ * every request. The user lookup is an in-memory stub, so the uncached numbers
+ * are a lower bound of what a real database round trip costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    private AuthFilter cachedFilter;
+    private AuthFilter uncachedFilter;
+    private String bearer;
+
+    @Setup
+    public void setup() {
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils();
+
+        User user = User.builder()
+                .id(1L)
+                .email("bench@example.com")
+                .password("password")
+                .role(UserRole.ADMIN)
+                .build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository);
+
+        AuthUserCache cache = new AuthUserCache(10_000, Duration.ofMinutes(5), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        AuthUserCache alwaysMiss = mock(AuthUserCache.class);
+
+        cachedFilter = new AuthFilter(jwtUtils, userDetailsService, cache);
+        uncachedFilter = new AuthFilter(jwtUtils, userDetailsService, alwaysMiss);
+        bearer = "Bearer " + jwtUtils.generateToken(user.getEmail());
+    }
+
+    @Benchmark
+    public Object cached() throws Exception {
+        return authenticate(cachedFilter);
+    }
+
+    @Benchmark
+    public Object uncached() throws Exception {
+        return authenticate(uncachedFilter);
+    }
+
+    private Object authenticate(AuthFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/all");
+        request.addHeader("Authorization", bearer);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
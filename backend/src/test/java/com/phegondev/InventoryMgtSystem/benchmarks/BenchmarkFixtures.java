@@ -0,0 +1,106 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.security.JwtUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory entity graphs shared by the benchmarks
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secreteJwtString", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+
+    static List<Product> products(int count) {
+        List<Category> categories = new ArrayList<>();
+        List<Supplier> suppliers = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            categories.add(Category.builder().id(i).name("Category " + i).build());
+            suppliers.add(Supplier.builder().id(i).name("Supplier " + i)
+                    .contactInfo("supplier" + i + "@test.com").address("Street " + i).build());
+        }
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .id((long) i + 1)
+                    .name("Product " + i)
+                    .sku("SKU-" + i)
+                    .price(BigDecimal.valueOf(10 + i % 90, 2))
+                    .stockQuantity(i % 500)
+                    .description("Description of product " + i)
+                    .imageUrl("uploads/product-" + i + ".png")
+                    .category(categories.get(i % categories.size()))
+                    .supplier(suppliers.get(i % suppliers.size()))
+                    .build());
+        }
+        return products;
+    }
+
+    // products with word-based names and descriptions so text search has realistic term overlap
+    static List<Product> catalog(int count) {
+        String[] adjectives = {"steel", "wireless", "organic", "compact", "heavy", "premium", "mini", "smart", "classic", "ultra"};
+        String[] nouns = {"laptop", "bolt", "rice", "cable", "mouse", "hammer", "lamp", "kettle", "drill", "sleeve",
+                "printer", "charger", "bottle", "helmet", "ladder"};
+
+        List<Product> products = products(count);
+        for (int i = 0; i < count; i++) {
+            String adjective = adjectives[i % adjectives.length];
+            String noun = nouns[(i / adjectives.length) % nouns.length];
+            Product product = products.get(i);
+            product.setName(adjective + " " + noun + " " + i);
+            product.setDescription("A " + adjective + " " + noun + " for everyday use, batch " + (i % 1000));
+        }
+        return products;
+    }
+
+    static List<Transaction> transactions(int count) {
+        List<Product> products = products(Math.max(1, count / 10));
+        User user = User.builder()
+                .id(1L)
+                .name("Bench User")
+                .email("bench@test.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .phoneNumber("9876543210")
+                .role(UserRole.MANAGER)
+                .build();
+
+        TransactionType[] types = TransactionType.values();
+        TransactionStatus[] statuses = TransactionStatus.values();
+
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = products.get(i % products.size());
+            transactions.add(Transaction.builder()
+                    .id((long) i + 1)
+                    .totalProducts(1 + i % 20)
+                    .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(1 + i % 20)))
+                    .transactionType(types[i % types.length])
+                    .status(statuses[i % statuses.length])
+                    .description("Transaction " + i)
+                    .note("note " + i)
+                    .product(product)
+                    .user(user)
+                    .supplier(product.getSupplier())
+                    .build());
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,125 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.config.ModelMapperConfig;
+import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.SupplierDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List mapping cost of the ModelMapper bean against {@link DtoMapper}, for the
+ * same shapes the services return (flat transactions, products with supplier).
+ * <p>
+ * The ModelMapper bean is still used in the other direction, for the request
+ * body of createCategory and createSupplier; those single-object maps are
+ * measured against building the entity by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private ModelMapper modelMapper;
+    private DtoMapper dtoMapper;
+    private List<Product> products;
+    private List<Transaction> transactions;
+    private CategoryDTO categoryDTO;
+    private SupplierDTO supplierDTO;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        dtoMapper = new DtoMapper();
+        products = BenchmarkFixtures.products(rows);
+        transactions = BenchmarkFixtures.transactions(rows);
+        categoryDTO = new CategoryDTO(null, "Electronics", null);
+        supplierDTO = new SupplierDTO(null, "Acme Supplies", "orders@acme.test", "1 Main Street");
+    }
+
+    @Benchmark
+    public List<TransactionDTO> transactionsModelMapper() {
+        List<TransactionDTO> dtos = modelMapper.map(transactions, new TypeToken<List<TransactionDTO>>() {
+        }.getType());
+        dtos.forEach(dto -> {
+            dto.setUser(null);
+            dto.setProduct(null);
+            dto.setSupplier(null);
+        });
+        return dtos;
+    }
+
+    @Benchmark
+    public List<TransactionDTO> transactionsDtoMapper() {
+        return dtoMapper.toList(transactions, dtoMapper::toTransactionDTO);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productsModelMapper() {
+        return modelMapper.map(products, new TypeToken<List<ProductDTO>>() {
+        }.getType());
+    }
+
+    @Benchmark
+    public List<ProductDTO> productsDtoMapper() {
+        return dtoMapper.toList(products, dtoMapper::toProductDTO);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Category categoryFromRequestModelMapper() {
+        return modelMapper.map(categoryDTO, Category.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Category categoryFromRequestBuilder() {
+        return Category.builder()
+                .id(categoryDTO.getId())
+                .name(categoryDTO.getName())
+                .build();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Supplier supplierFromRequestModelMapper() {
+        return modelMapper.map(supplierDTO, Supplier.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Supplier supplierFromRequestBuilder() {
+        return Supplier.builder()
+                .id(supplierDTO.getId())
+                .name(supplierDTO.getName())
+                .contactInfo(supplierDTO.getContactInfo())
+                .address(supplierDTO.getAddress())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.security.JwtUtils;
+import io.jsonwebtoken.JwtException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link JwtUtils} operations behind every login and every
+ * authenticated request: signing a token, verifying and parsing a valid one, and
+ * rejecting one whose signature does not match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private String tampered;
+
+    @Setup
+    public void setup() {
+        jwtUtils = BenchmarkFixtures.jwtUtils();
+        token = jwtUtils.generateToken("bench@example.com");
+
+        //same header and claims, last signature character changed
+        char last = token.charAt(token.length() - 1);
+        tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateToken("bench@example.com");
+    }
+
+    @Benchmark
+    public Object parseValid() {
+        return jwtUtils.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object rejectTampered() {
+        try {
+            return jwtUtils.parseClaims(tampered);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+}
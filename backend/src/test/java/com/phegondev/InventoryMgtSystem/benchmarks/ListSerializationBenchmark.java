@@ -0,0 +1,108 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Time to write one page of the product and transaction listings as JSON, in
+ * the old {@link Response} envelope and in {@link PageResponse}, with and
+ * without gzip as the server compresses it. The payload size of each
+ * combination is printed at the end of its run:
+ * <pre>
+ * mvn -P benchmarks test-compile exec:exec -Djmh.args="ListSerialization"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListSerializationBenchmark {
+
+    @Param({"products", "transactions"})
+    private String listing;
+
+    @Param({"response", "page"})
+    private String envelope;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    //default and maximum page size of both listings
+    @Param({"100", "500"})
+    private int rows;
+
+    private ObjectWriter writer;
+    private Object payload;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+
+    @Setup
+    public void setup() {
+        //the same defaults Spring Boot applies to the application's ObjectMapper
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        DtoMapper dtoMapper = new DtoMapper();
+        payload = switch (listing) {
+            case "products" -> {
+                List<ProductDTO> products = dtoMapper.toList(BenchmarkFixtures.products(rows), dtoMapper::toProductDTO);
+                yield envelope.equals("page")
+                        ? PageResponse.<ProductDTO>builder().items(products).nextCursor("1000").total(5000L).build()
+                        : Response.builder().status(200).message("success").products(products)
+                        .nextCursor("1000").totalElements(5000L).build();
+            }
+            case "transactions" -> {
+                List<TransactionDTO> transactions = dtoMapper.toList(BenchmarkFixtures.transactions(rows), dtoMapper::toTransactionDTO);
+                yield envelope.equals("page")
+                        ? PageResponse.<TransactionDTO>builder().items(transactions).nextCursor("1").total(5000L).build()
+                        : Response.builder().status(200).message("success").transactions(transactions)
+                        .totalElements(5000L).totalPages(5).build();
+            }
+            default -> throw new IllegalArgumentException("Unknown listing: " + listing);
+        };
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        buffer.reset();
+        if (gzip) {
+            try (OutputStream output = new GZIPOutputStream(buffer)) {
+                writer.writeValue(output, payload);
+            }
+        } else {
+            writer.writeValue(buffer, payload);
+        }
+        return buffer.size();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSize() throws IOException {
+        System.out.printf("%n%s, %d rows, %s envelope%s: %,d bytes per response%n",
+                listing, rows, envelope, gzip ? ", gzip" : "", write());
+    }
+}
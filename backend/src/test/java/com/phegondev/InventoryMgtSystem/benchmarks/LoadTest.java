@@ -0,0 +1,338 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load test against a running backend, used to compare the
+ * platform thread pool with {@code VIRTUAL_THREADS=true} and to replay a
+ * repeatable traffic mix against a seeded database.
+ * <p>
+ * Each scenario keeps {@code clients} requests in flight for {@code seconds} and
+ * prints throughput and latency percentiles. Start the server once per mode and
+ * run the same command against both:
+ * <pre>
+ * VIRTUAL_THREADS=true mvn spring-boot:run
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.args="--email=admin@x.com --password=... --productId=1 --clients=400"
+ * </pre>
+ * The sell scenario takes one unit of {@code productId} per request, so give it
+ * enough stock first; rejected sells are counted as errors, not latency samples.
+ * <p>
+ * The {@code mix} scenario has each client pick its next request at random from
+ * weighted operations. It reports throughput and percentiles per operation:
+ * browse and search the catalog, sell and purchase random products, and the
+ * dashboard's transaction list and analytics summary. Products and suppliers
+ * come from the options endpoints, and a few products get most of the traffic.
+ * Against a database filled by the seed profile (see DataSeeder), on MySQL or
+ * on H2 in MySQL mode, with the rollups rebuilt for the summary:
+ * <pre>
+ * SEED_REBUILD_ROLLUPS=true mvn spring-boot:run -Dspring-boot.run.profiles=h2,seed -Dspring-boot.run.useTestClasspath=true
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.args="--email=admin@seed.local --password=password --scenarios=mix"
+ * </pre>
+ * {@code --mix=browse:35,search:20,sell:15,purchase:10,transactions:10,summary:10} sets
+ * the weights, and {@code --randomSeed} makes the sequence of picks repeatable.
+ */
+public class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String DEFAULT_MIX = "browse:35,search:20,sell:15,purchase:10,transactions:10,summary:10";
+    private static final String[] SEARCH_TERMS = {"steel", "wireless", "organic", "compact", "premium", "smart",
+            "laptop", "cable", "mouse", "lamp", "kettle", "drill", "charger", "router", "battery"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:5050");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        String productId = options.getOrDefault("productId", "1");
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = login(client, baseUrl, options.get("email"), options.get("password"));
+
+        HttpRequest listProducts = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/all?size=50"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        HttpRequest sell = HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/sell"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":" + productId + ",\"quantity\":1}"))
+                .build();
+
+        List<String> scenarios = Arrays.asList(options.getOrDefault("scenarios", "products,sell").split(","));
+        System.out.printf("%d clients, %ds per scenario against %s%n", clients, seconds, baseUrl);
+
+        for (String scenario : scenarios) {
+            if (scenario.trim().equals("mix")) {
+                List<Operation> mix = mix(client, baseUrl, token, options.getOrDefault("mix", DEFAULT_MIX));
+                long randomSeed = Long.parseLong(options.getOrDefault("randomSeed", "42"));
+                runMix(client, mix, clients, warmupSeconds, randomSeed);
+                Map<String, Result> results = runMix(client, mix, clients, seconds, randomSeed);
+                results.forEach((name, result) -> System.out.printf("mix/%-13s %s%n", name, result));
+                continue;
+            }
+            HttpRequest request = switch (scenario.trim()) {
+                case "products" -> listProducts;
+                case "sell" -> sell;
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            };
+            run(client, request, clients, warmupSeconds);
+            Result result = run(client, request, clients, seconds);
+            System.out.printf("%-9s %s%n", scenario.trim(), result);
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        LongAdder errors = new LongAdder();
+        List<Future<long[]>> workers = new ArrayList<>(clients);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                workers.add(executor.submit(() -> {
+                    LatencyLog latencies = new LatencyLog();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 == 2) {
+                                latencies.add(System.nanoTime() - start);
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                    }
+                    return latencies.toArray();
+                }));
+            }
+        }
+
+        LatencyLog all = new LatencyLog();
+        for (Future<long[]> worker : workers) {
+            for (long latency : worker.get()) {
+                all.add(latency);
+            }
+        }
+        return new Result(all.toArray(), errors.sum(), seconds);
+    }
+
+    // each client draws its next operation by weight and keeps latencies per operation
+    private static Map<String, Result> runMix(HttpClient client, List<Operation> mix, int clients, int seconds, long randomSeed) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+        List<Future<LatencyLog[]>> workers = new ArrayList<>(clients);
+        LongAdder[] errors = new LongAdder[mix.size()];
+        for (int i = 0; i < errors.length; i++) errors[i] = new LongAdder();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = new SplittableRandom(randomSeed + i);
+                workers.add(executor.submit(() -> {
+                    LatencyLog[] latencies = new LatencyLog[mix.size()];
+                    for (int op = 0; op < latencies.length; op++) latencies[op] = new LatencyLog();
+                    while (System.nanoTime() < deadline) {
+                        int op = pick(mix, random.nextInt(totalWeight));
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(
+                                    mix.get(op).request().apply(random), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 == 2) {
+                                latencies[op].add(System.nanoTime() - start);
+                            } else {
+                                errors[op].increment();
+                            }
+                        } catch (Exception e) {
+                            errors[op].increment();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+        }
+
+        LatencyLog[] all = new LatencyLog[mix.size()];
+        for (int op = 0; op < all.length; op++) all[op] = new LatencyLog();
+        for (Future<LatencyLog[]> worker : workers) {
+            LatencyLog[] latencies = worker.get();
+            for (int op = 0; op < all.length; op++) {
+                for (long latency : latencies[op].toArray()) {
+                    all[op].add(latency);
+                }
+            }
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (int op = 0; op < all.length; op++) {
+            results.put(mix.get(op).name(), new Result(all[op].toArray(), errors[op].sum(), seconds));
+        }
+        return results;
+    }
+
+    private static int pick(List<Operation> mix, int roll) {
+        for (int op = 0; op < mix.size(); op++) {
+            roll -= mix.get(op).weight();
+            if (roll < 0) return op;
+        }
+        return mix.size() - 1;
+    }
+
+    private static List<Operation> mix(HttpClient client, String baseUrl, String token, String weights) throws Exception {
+        long[] productIds = ids(client, baseUrl + "/api/products/options", token);
+        long[] supplierIds = ids(client, baseUrl + "/api/suppliers/options", token);
+        if (productIds.length == 0 || supplierIds.length == 0) {
+            throw new IllegalStateException("The mix needs products and suppliers, seed the database first");
+        }
+
+        List<Operation> mix = new ArrayList<>();
+        for (String entry : weights.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name:weight in --mix but got " + entry);
+            }
+            String name = parts[0];
+            int weight = Integer.parseInt(parts[1]);
+            Function<SplittableRandom, HttpRequest> request = switch (name) {
+                case "browse" -> random -> get(baseUrl + "/api/products/all?size=50&sortBy="
+                        + (random.nextBoolean() ? "id" : "name"), token);
+                case "search" -> random -> get(baseUrl + "/api/products/search?size=20&searchValue="
+                        + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], token);
+                case "sell" -> random -> post(baseUrl + "/api/transactions/sell", token,
+                        "{\"productId\":" + popular(productIds, random) + ",\"quantity\":1}");
+                case "purchase" -> random -> post(baseUrl + "/api/transactions/purchase", token,
+                        "{\"productId\":" + popular(productIds, random) + ",\"quantity\":20,\"supplierId\":"
+                                + supplierIds[random.nextInt(supplierIds.length)] + "}");
+                case "transactions" -> random -> get(baseUrl + "/api/transactions/all?size=20", token);
+                case "summary" -> random -> get(baseUrl + "/api/analytics/summary", token);
+                default -> throw new IllegalArgumentException("Unknown mix operation: " + name);
+            };
+            if (weight > 0) mix.add(new Operation(name, weight, request));
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        return mix;
+    }
+
+    // cubing a uniform draw puts most of the traffic on the first products, like real best sellers
+    private static long popular(long[] ids, SplittableRandom random) {
+        double draw = random.nextDouble();
+        return ids[(int) (ids.length * draw * draw * draw)];
+    }
+
+    private static long[] ids(HttpClient client, String url, String token) throws Exception {
+        String body = client.send(get(url, token), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ID.matcher(body);
+        List<Long> ids = new ArrayList<>();
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(String url, String token, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        if (email == null || password == null) {
+            throw new IllegalArgumentException("--email and --password are required");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    // growable primitive buffer, a boxed list would dominate the client's own allocation
+    private static final class LatencyLog {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Operation(String name, int weight, Function<SplittableRandom, HttpRequest> request) {
+    }
+
+    private record Result(long[] latencies, long errors, int seconds) {
+
+        @Override
+        public String toString() {
+            Arrays.sort(latencies);
+            return String.format("%8.1f req/s  p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms  max %7.2f ms  ok %d  errors %d",
+                    (double) latencies.length / seconds,
+                    percentile(0.50), percentile(0.95), percentile(0.99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6,
+                    latencies.length, errors);
+        }
+
+        private double percentile(double p) {
+            if (latencies.length == 0) return 0;
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
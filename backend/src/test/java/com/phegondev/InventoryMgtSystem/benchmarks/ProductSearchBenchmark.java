@@ -0,0 +1,89 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
+import com.phegondev.InventoryMgtSystem.search.SearchHits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query cost of {@link ProductSearchIndex} at catalog sizes the LIKE search
+ * could not serve per keystroke. {@code likeScan} is the in-memory equivalent of
+ * {@code name LIKE '%x%' OR description LIKE '%x%'}: every row is inspected, and
+ * it is still cheaper than the database doing the same full scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private ProductSearchIndex index;
+    private List<Product> catalog;
+    private Product updated;
+
+    @Setup
+    public void setup() {
+        catalog = BenchmarkFixtures.catalog(products);
+        index = new ProductSearchIndex();
+        index.indexAll(catalog);
+        updated = catalog.get(catalog.size() / 2);
+    }
+
+    // one short, very common prefix, the worst case while the user is still typing
+    @Benchmark
+    public SearchHits shortPrefix() {
+        return index.search("la", 0, 50);
+    }
+
+    @Benchmark
+    public SearchHits twoTerms() {
+        return index.search("steel lap", 0, 50);
+    }
+
+    @Benchmark
+    public SearchHits exactSku() {
+        return index.search("SKU-" + (products - 1), 0, 50);
+    }
+
+    @Benchmark
+    public SearchHits deepPage() {
+        return index.search("wireless", 20, 50);
+    }
+
+    @Benchmark
+    public void reindexOne() {
+        index.index(updated);
+    }
+
+    @Benchmark
+    public List<Long> likeScan() {
+        List<Long> matches = new ArrayList<>();
+        for (Product product : catalog) {
+            if (product.getName().toLowerCase(Locale.ROOT).contains("steel lap")
+                    || product.getDescription().toLowerCase(Locale.ROOT).contains("steel lap")) {
+                matches.add(product.getId());
+            }
+        }
+        return matches.size() > 50 ? matches.subList(0, 50) : matches;
+    }
+}
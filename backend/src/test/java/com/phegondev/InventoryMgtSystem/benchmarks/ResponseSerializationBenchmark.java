@@ -0,0 +1,65 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to write the single-object {@link Response} bodies as JSON: the login
+ * reply, a product and a transaction with its product, user and supplier. The
+ * listings are covered by {@link ListSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"login", "product", "transaction"})
+    private String body;
+
+    private ObjectWriter writer;
+    private Response response;
+
+    @Setup
+    public void setup() {
+        //the same defaults Spring Boot applies to the application's ObjectMapper
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        DtoMapper dtoMapper = new DtoMapper();
+        Transaction transaction = BenchmarkFixtures.transactions(1).get(0);
+        response = switch (body) {
+            case "login" -> Response.builder().status(200).message("User Logged in Successfully")
+                    .role(UserRole.MANAGER).token(BenchmarkFixtures.jwtUtils().generateToken("bench@test.com"))
+                    .expirationTime("6 months").build();
+            case "product" -> Response.builder().status(200).message("success")
+                    .product(dtoMapper.toProductDTO(transaction.getProduct())).build();
+            case "transaction" -> Response.builder().status(200).message("success")
+                    .transaction(dtoMapper.toTransactionDetailDTO(transaction)).build();
+            default -> throw new IllegalArgumentException(body);
+        };
+    }
+
+    @Benchmark
+    public byte[] write() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
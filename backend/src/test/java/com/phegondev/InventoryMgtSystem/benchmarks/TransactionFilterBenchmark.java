@@ -0,0 +1,102 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.specification.TransactionFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a transactions/all filter into a criteria query with
+ * {@link TransactionFilter#byFilter}: no filter, the exact-match and date-range
+ * filters, and free text, which adds the three left joins and the LIKE
+ * alternatives. Runs against Hibernate's real criteria builder on an in-memory
+ * H2 database; nothing is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionFilterBenchmark {
+
+    @Param({"none", "exact", "text"})
+    private String filter;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private TransactionFilterRequest request;
+
+    @Setup
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Supplier.class)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Transaction.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:filterbench;MODE=MySQL")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        request = switch (filter) {
+            case "none" -> new TransactionFilterRequest();
+            case "exact" -> {
+                TransactionFilterRequest exact = new TransactionFilterRequest();
+                exact.setTransactionType(TransactionType.SALE);
+                exact.setStatus(TransactionStatus.COMPLETED);
+                exact.setProductId(42L);
+                exact.setFrom(LocalDateTime.of(2025, 1, 1, 0, 0));
+                exact.setTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+                yield exact;
+            }
+            case "text" -> {
+                TransactionFilterRequest text = new TransactionFilterRequest();
+                text.setText("sale");
+                yield text;
+            }
+            default -> throw new IllegalArgumentException(filter);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Object toQuery() {
+        Specification<Transaction> specification = TransactionFilter.byFilter(request);
+        CriteriaQuery<Transaction> query = criteriaBuilder.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        return query.where(specification.toPredicate(root, query, criteriaBuilder));
+    }
+}
@@ -0,0 +1,68 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.services.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the whole application on H2, scraped the way Prometheus would: no token
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    // ----------------------------------------------------------------
+    // PROMETHEUS - open to the scraper, with every source of meters bound
+    // ----------------------------------------------------------------
+    @Test
+    void prometheus_exposesPoolHibernateServiceAndStockMeters() throws Exception {
+
+        productService.getProductOptions();
+        mockMvc.perform(get("/api/products/options")).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")))
+                .andExpect(content().string(containsString("inventory_service_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"getProductOptions\"")))
+                .andExpect(content().string(containsString("inventory_stock_mutations_total")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")));
+    }
+
+    @Test
+    void health_isOpenButOtherEndpointsNeedAToken() throws Exception {
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("UP")));
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+}
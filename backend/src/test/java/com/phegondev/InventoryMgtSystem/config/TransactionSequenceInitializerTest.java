@@ -0,0 +1,75 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ids written behind Hibernate's back, as on an install that predates the sequence
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, TransactionSequenceInitializer.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transactionseq;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class TransactionSequenceInitializerTest {
+
+    @Autowired
+    private TransactionSequenceInitializer transactionSequence;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from transactions");
+    }
+
+    @Test
+    void align_movesSequencePastExistingIds() {
+
+        for (long id = 1; id <= 120; id++) {
+            jdbcTemplate.update("insert into transactions (id, total_products, total_price, transaction_type, status) " +
+                    "values (?, 1, 1, 'SALE', 'COMPLETED')", id);
+        }
+
+        transactionSequence.align();
+
+        assertTrue(save().getId() > 120);
+    }
+
+    private Transaction save() {
+        return new TransactionTemplate(transactionManager).execute(status -> transactionRepository.save(
+                Transaction.builder()
+                        .totalProducts(1)
+                        .totalPrice(BigDecimal.ONE)
+                        .transactionType(TransactionType.SALE)
+                        .status(TransactionStatus.COMPLETED)
+                        .build()));
+    }
+}
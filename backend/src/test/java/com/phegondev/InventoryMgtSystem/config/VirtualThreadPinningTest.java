@@ -0,0 +1,169 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
+import com.phegondev.InventoryMgtSystem.security.AuthUser;
+import com.phegondev.InventoryMgtSystem.security.AuthUserCache;
+import com.phegondev.InventoryMgtSystem.security.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the shared in-process components that request threads contend on against
+ * pinning: a virtual thread that blocks inside {@code synchronized} holds on to its
+ * carrier, and with only a few carriers the whole server stalls behind it.
+ */
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // ----------------------------------------------------------------
+    // SHARED REQUEST-PATH COMPONENTS - contended use never pins
+    // ----------------------------------------------------------------
+    @Test
+    void contendedSearchIndexAuthCacheAndJwt_neverPin() throws Exception {
+
+        ProductSearchIndex index = new ProductSearchIndex();
+        AuthUserCache authUserCache = new AuthUserCache(1000, Duration.ofMinutes(5),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secreteJwtString", "pinning-test-secret-pinning-test-secret-0123");
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        List<RecordedEvent> pinned = recordPinning(() -> runOnVirtualThreads(2000, i -> {
+            // writers take the index's write lock while readers wait on it
+            index.index(product(i % 50));
+            index.search("steel", 0, 20);
+
+            String token = jwtUtils.generateToken("user" + (i % 20) + "@test.com");
+            authUserCache.put(token, authUser((long) (i % 20)), jwtUtils.parseClaims(token).getExpiration());
+            authUserCache.get(token);
+            if (i % 100 == 0) {
+                authUserCache.evictUser((long) (i % 20));
+            }
+        }));
+
+        assertTrue(pinned.isEmpty(), "virtual threads pinned:\n" + describe(pinned));
+    }
+
+    // ----------------------------------------------------------------
+    // DETECTOR - blocking inside synchronized is reported
+    // ----------------------------------------------------------------
+    @Test
+    void blockingInsideSynchronized_isReported() throws Exception {
+
+        Object monitor = new Object();
+
+        List<RecordedEvent> pinned = recordPinning(() -> runOnVirtualThreads(4, i -> {
+            synchronized (monitor) {
+                sleep(5);
+            }
+        }));
+
+        assertFalse(pinned.isEmpty());
+    }
+
+    private List<RecordedEvent> recordPinning(ThrowingRunnable workload) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void runOnVirtualThreads(int tasks, Task task) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int taskIndex = i;
+                futures.add(executor.submit(() -> task.run(taskIndex)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .limit(3)
+                .map(event -> event.getStackTrace() == null ? event.toString() : event.getStackTrace().getFrames().stream()
+                        .limit(8)
+                        .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                        .collect(Collectors.joining("\n")))
+                .collect(Collectors.joining("\n---\n"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Product product(long id) {
+        return Product.builder()
+                .id(id)
+                .name("steel product " + id)
+                .sku("SKU-" + id)
+                .price(BigDecimal.TEN)
+                .stockQuantity(10)
+                .category(Category.builder().id(1L).name("Tools").build())
+                .supplier(Supplier.builder().id(1L).name("Supplier A").build())
+                .build();
+    }
+
+    private AuthUser authUser(Long id) {
+        return AuthUser.builder()
+                .user(User.builder()
+                        .id(id)
+                        .name("User " + id)
+                        .email("user" + id + "@test.com")
+                        .password("secret")
+                        .role(UserRole.MANAGER)
+                        .build())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run(int index);
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -38,6 +38,9 @@ class AuthControllerTest {
     @MockBean
     private com.phegondev.InventoryMgtSystem.security.CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private com.phegondev.InventoryMgtSystem.security.AuthUserCache authUserCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
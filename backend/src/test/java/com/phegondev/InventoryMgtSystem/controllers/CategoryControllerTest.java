@@ -3,6 +3,7 @@ package com.phegondev.InventoryMgtSystem.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
 import com.phegondev.InventoryMgtSystem.services.CategoryService;
 
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,9 +40,14 @@ class CategoryControllerTest {
     @MockBean
     private com.phegondev.InventoryMgtSystem.security.CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private com.phegondev.InventoryMgtSystem.security.AuthUserCache authUserCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_000);
+
     @Test
     void createCategory_success() throws Exception {
 
@@ -70,8 +78,36 @@ class CategoryControllerTest {
                 .build();
 
         Mockito.when(categoryService.getAllCategories()).thenReturn(res);
+        Mockito.when(categoryService.getCategoriesVersion()).thenReturn(new VersionStamp(3L, UPDATED_AT));
 
         mockMvc.perform(get("/api/categories/all"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", new VersionStamp(3L, UPDATED_AT).etag()))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.status").value(200));
+    }
+
+    @Test
+    void getAllCategories_notModifiedSkipsTheList() throws Exception {
+
+        VersionStamp version = new VersionStamp(3L, UPDATED_AT);
+        Mockito.when(categoryService.getCategoriesVersion()).thenReturn(version);
+
+        mockMvc.perform(get("/api/categories/all").header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(categoryService, Mockito.never()).getAllCategories();
+    }
+
+    @Test
+    void getAllCategories_changedListIsReturned() throws Exception {
+
+        Mockito.when(categoryService.getAllCategories()).thenReturn(Response.builder().status(200).build());
+        Mockito.when(categoryService.getCategoriesVersion()).thenReturn(new VersionStamp(4L, UPDATED_AT));
+
+        mockMvc.perform(get("/api/categories/all").header("If-None-Match", new VersionStamp(3L, UPDATED_AT).etag()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value(200));
     }
@@ -1,8 +1,12 @@
 package com.phegondev.InventoryMgtSystem.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductListRequest;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.ImportReportDTO;
+import com.phegondev.InventoryMgtSystem.services.ProductImportService;
 import com.phegondev.InventoryMgtSystem.services.ProductService;
 
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -37,6 +42,9 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductImportService productImportService;
+
     // 🔥 REQUIRED SECURITY MOCKS
     @MockBean
     private com.phegondev.InventoryMgtSystem.security.JwtUtils jwtUtils;
@@ -44,6 +52,9 @@ class ProductControllerTest {
     @MockBean
     private com.phegondev.InventoryMgtSystem.security.CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private com.phegondev.InventoryMgtSystem.security.AuthUserCache authUserCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -84,18 +95,50 @@ class ProductControllerTest {
     }
 
     @Test
-    void getAllProducts_success() throws Exception {
+    void importProducts_returnsReport() throws Exception {
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "products.csv",
+                "text/csv",
+                "sku,name,price,categoryId,supplierId\nSKU-1,Laptop,10,1,1\n".getBytes()
+        );
 
         Response res = Response.builder()
                 .status(200)
-                .message("All products")
+                .message("Import finished")
+                .importReport(ImportReportDTO.builder().rowsRead(1).inserted(1).build())
                 .build();
 
-        Mockito.when(productService.getAllProducts()).thenReturn(res);
+        Mockito.when(productImportService.importProducts(ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(res);
 
-        mockMvc.perform(get("/api/products/all"))
+        mockMvc.perform(multipart("/api/products/import").file(file))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.status").value(200));
+                .andExpect(jsonPath("$.importReport.inserted").value(1));
+    }
+
+    @Test
+    void getAllProducts_success() throws Exception {
+
+        ProductDTO product = new ProductDTO();
+        product.setId(7L);
+        product.setName("Laptop");
+
+        PageResponse<ProductDTO> res = PageResponse.<ProductDTO>builder()
+                .items(List.of(product))
+                .nextCursor("7")
+                .build();
+
+        Mockito.when(productService.getAllProducts(ArgumentMatchers.any(ProductListRequest.class))).thenReturn(res);
+
+        mockMvc.perform(get("/api/products/all")
+                .param("size", "20")
+                .param("categoryId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Laptop"))
+                .andExpect(jsonPath("$.nextCursor").value("7"))
+                .andExpect(jsonPath("$.total").doesNotExist())
+                .andExpect(jsonPath("$.timestamp").doesNotExist());
     }
 
     @Test
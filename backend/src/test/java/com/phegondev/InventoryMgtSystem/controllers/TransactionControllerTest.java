@@ -0,0 +1,101 @@
+package com.phegondev.InventoryMgtSystem.controllers;
+
+import com.phegondev.InventoryMgtSystem.exceptions.TooManyRequestsException;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.security.AuthUserCache;
+import com.phegondev.InventoryMgtSystem.security.CustomUserDetailsService;
+import com.phegondev.InventoryMgtSystem.security.JwtUtils;
+import com.phegondev.InventoryMgtSystem.services.TransactionExportService;
+import com.phegondev.InventoryMgtSystem.services.TransactionService;
+import com.phegondev.InventoryMgtSystem.services.impl.TransactionExportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// the real export service, so the slots are the ones the endpoint hands out
+@WebMvcTest(controllers = TransactionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({TransactionController.class, TransactionExportServiceImpl.class})
+@TestPropertySource(properties = "app.export.max-concurrent=2")
+class TransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @MockitoBean
+    private TransactionService transactionService;
+
+    @MockitoBean
+    private TransactionRepository transactionRepository;
+
+    @MockitoBean
+    private JwtUtils jwtUtils;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @MockitoBean
+    private AuthUserCache authUserCache;
+
+    // ----------------------------------------------------------------
+    // EXPORT - the slot comes back however the request ends
+    // ----------------------------------------------------------------
+    @Test
+    void export_writesTheAttachment() throws Exception {
+
+        when(transactionRepository.streamExportRows(any())).thenReturn(Stream.empty());
+
+        MvcResult started = mockMvc.perform(get("/api/transactions/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""));
+    }
+
+    @Test
+    void export_failingBeforeStreamingGivesTheSlotBack() throws Exception {
+
+        when(transactionRepository.streamExportRows(any()))
+                .thenThrow(new CannotCreateTransactionException("no connection"));
+
+        // more failed exports than there are slots
+        for (int i = 0; i < 3; i++) {
+            MvcResult started = mockMvc.perform(get("/api/transactions/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(header().doesNotExist("Content-Disposition"));
+        }
+
+        // both slots are free again, and only both
+        TransactionExportService.ExportSlot first = transactionExportService.reserveSlot();
+        TransactionExportService.ExportSlot second = transactionExportService.reserveSlot();
+        assertThrows(TooManyRequestsException.class, transactionExportService::reserveSlot);
+        first.close();
+        second.close();
+    }
+}
@@ -0,0 +1,220 @@
+package com.phegondev.InventoryMgtSystem.images;
+
+import com.phegondev.InventoryMgtSystem.dtos.ImageUploadDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ImageUploadRequest;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.storage.LocalBlobStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ImageVariantGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ImageStore imageStore;
+    private ImageVariantGenerator generator;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        LocalBlobStorage blobStorage = new LocalBlobStorage(directory);
+        imageStore = new ImageStore(blobStorage);
+        generator = new ImageVariantGenerator(imageStore, blobStorage, productRepository);
+    }
+
+    // ----------------------------------------------------------------
+    // STORE - content addressed, identical uploads share one file
+    // ----------------------------------------------------------------
+    @Test
+    void store_namesFileByContentHash() throws Exception {
+
+        byte[] png = png(40, 20);
+
+        StoredImage first = imageStore.store(new MockMultipartFile("imageFile", "a.png", "image/png", png));
+        StoredImage second = imageStore.store(new MockMultipartFile("imageFile", "../../b.png", "image/png", png));
+
+        assertEquals(first.url(), second.url());
+        assertTrue(first.url().matches("uploads/images/[0-9a-f]{64}\\.png"));
+        assertArrayEquals(png, Files.readAllBytes(directory.resolve(first.key())));
+        assertEquals(1, fileCount());
+    }
+
+    @Test
+    void store_rejectsNonImages() {
+
+        assertThrows(IllegalArgumentException.class, () -> imageStore.store(
+                new MockMultipartFile("imageFile", "notes.txt", "text/plain", new byte[]{1, 2, 3})));
+    }
+
+    // ----------------------------------------------------------------
+    // DIRECT UPLOADS - keyed by the hash the browser declares
+    // ----------------------------------------------------------------
+    @Test
+    void prepareUpload_knownBytesNeedNoUpload() throws Exception {
+
+        byte[] png = png(40, 20);
+        StoredImage stored = imageStore.store(new MockMultipartFile("imageFile", "a.png", "image/png", png));
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png));
+
+        ImageUploadDTO upload = imageStore.prepareUpload(new ImageUploadRequest("image/png", (long) png.length, hash.toUpperCase()))
+                .orElseThrow();
+
+        assertTrue(upload.isStored());
+        assertEquals(stored.key(), upload.getKey());
+        assertNull(upload.getUploadUrl());
+        assertEquals(stored, imageStore.uploaded(upload.getKey()));
+    }
+
+    @Test
+    void prepareUpload_localStorageTakesNoDirectUploads() {
+
+        assertTrue(imageStore.prepareUpload(new ImageUploadRequest("image/png", 10L, "ab".repeat(32))).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> imageStore.prepareUpload(
+                new ImageUploadRequest("image/png", 10L, "not-a-hash")));
+        assertThrows(IllegalArgumentException.class, () -> imageStore.prepareUpload(
+                new ImageUploadRequest("image/png", ImageStore.MAX_DIRECT_UPLOAD_SIZE + 1, "ab".repeat(32))));
+    }
+
+    @Test
+    void uploaded_rejectsForeignAndMissingKeys() {
+
+        assertThrows(IllegalArgumentException.class, () -> imageStore.uploaded("../application.properties"));
+        assertThrows(IllegalArgumentException.class, () -> imageStore.uploaded("images/" + "ab".repeat(32) + ".png"));
+    }
+
+    // ----------------------------------------------------------------
+    // VARIANTS - fitted inside their box, never upscaled, reused
+    // ----------------------------------------------------------------
+    @Test
+    void createVariants_fitsEachVariantInsideItsBox() throws Exception {
+
+        StoredImage image = imageStore.store(new MockMultipartFile("imageFile", "big.png", "image/png", png(2000, 1000)));
+
+        Map<ImageVariant, String> urls = generator.createVariants(image);
+
+        assertEquals(imageStore.variantUrl(image, ImageVariant.THUMBNAIL), urls.get(ImageVariant.THUMBNAIL));
+        BufferedImage thumbnail = ImageIO.read(variantPath(image, ImageVariant.THUMBNAIL).toFile());
+        BufferedImage medium = ImageIO.read(variantPath(image, ImageVariant.MEDIUM).toFile());
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(160, thumbnail.getHeight());
+        assertEquals(1024, medium.getWidth());
+        assertEquals(512, medium.getHeight());
+    }
+
+    @Test
+    void createVariants_smallImageIsNotUpscaledAndFilesAreReused() throws Exception {
+
+        StoredImage image = imageStore.store(new MockMultipartFile("imageFile", "small.png", "image/png", png(100, 50)));
+        generator.createVariants(image);
+        Path thumbnail = variantPath(image, ImageVariant.THUMBNAIL);
+        long written = Files.getLastModifiedTime(thumbnail).toMillis();
+
+        assertEquals(100, ImageIO.read(thumbnail.toFile()).getWidth());
+
+        Files.setLastModifiedTime(thumbnail, FileTime.fromMillis(written - 60_000));
+        generator.createVariants(image);
+        assertEquals(written - 60_000, Files.getLastModifiedTime(thumbnail).toMillis());
+    }
+
+    @Test
+    void generate_undecodableImageKeepsOnlyTheOriginal() throws Exception {
+
+        StoredImage image = imageStore.store(new MockMultipartFile("imageFile", "broken.png", "image/png", new byte[]{1, 2, 3}));
+
+        generator.generate(7L, image);
+
+        verifyNoInteractions(productRepository);
+        assertEquals(1, fileCount());
+    }
+
+    @Test
+    void generate_recordsVariantUrlsAgainstTheRenderedImage() throws Exception {
+
+        StoredImage image = imageStore.store(new MockMultipartFile("imageFile", "a.png", "image/png", png(400, 400)));
+
+        generator.generate(7L, image);
+
+        verify(productRepository).updateImageVariants(7L, image.url(),
+                imageStore.variantUrl(image, ImageVariant.THUMBNAIL),
+                imageStore.variantUrl(image, ImageVariant.MEDIUM));
+    }
+
+    // ----------------------------------------------------------------
+    // STAGED UPLOADS - nothing in storage until the generator runs
+    // ----------------------------------------------------------------
+    @Test
+    void generate_stagedUploadIsStoredBeforeItsVariants() throws Exception {
+
+        byte[] png = png(400, 400);
+        StagedImage staged = imageStore.stage(new MockMultipartFile("imageFile", "a.png", "image/png", png));
+        StoredImage image = staged.image();
+        assertFalse(Files.exists(directory.resolve(image.key())));
+
+        generator.generate(7L, staged);
+
+        assertArrayEquals(png, Files.readAllBytes(directory.resolve(image.key())));
+        assertFalse(Files.exists(staged.file()));
+        verify(productRepository).updateImageVariants(7L, image.url(),
+                imageStore.variantUrl(image, ImageVariant.THUMBNAIL),
+                imageStore.variantUrl(image, ImageVariant.MEDIUM));
+    }
+
+    @Test
+    void generate_stagedUploadThatCannotBeStoredIsTakenOffTheProduct() throws Exception {
+
+        StagedImage staged = imageStore.stage(new MockMultipartFile("imageFile", "a.png", "image/png", png(40, 20)));
+        Files.delete(staged.file());
+
+        generator.generate(7L, staged);
+
+        verify(productRepository).clearImage(7L, staged.image().url());
+        verify(productRepository, never()).updateImageVariants(any(), any(), any(), any());
+    }
+
+    private Path variantPath(StoredImage image, ImageVariant variant) {
+        return directory.resolve(imageStore.variantKey(image, variant));
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("images"))) {
+            return files.count();
+        }
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
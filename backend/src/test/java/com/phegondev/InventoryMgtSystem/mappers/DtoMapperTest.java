@@ -0,0 +1,94 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.config.ModelMapperConfig;
+import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.SupplierDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.UserDTO;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// DtoMapper must produce the same DTOs the ModelMapper bean produced
+class DtoMapperTest {
+
+    private final DtoMapper dtoMapper = new DtoMapper();
+    private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void setup() {
+        Category category = Category.builder().id(3L).name("Food").build();
+        Supplier supplier = Supplier.builder().id(4L).name("Supplier A").contactInfo("a@test.com").address("Street").build();
+        Product product = Product.builder()
+                .id(7L).name("Rice").sku("SKU-7").price(BigDecimal.TEN).stockQuantity(5)
+                .description("Long grain").imageUrl("uploads/rice.png")
+                .category(category).supplier(supplier)
+                .build();
+        User user = User.builder()
+                .id(9L).name("Test User").email("test@example.com").password("hash")
+                .phoneNumber("9876543210").role(UserRole.MANAGER)
+                .build();
+        transaction = Transaction.builder()
+                .id(1L).totalProducts(2).totalPrice(BigDecimal.valueOf(20))
+                .transactionType(TransactionType.SALE).status(TransactionStatus.COMPLETED)
+                .description("sale").note("note")
+                .product(product).user(user).supplier(supplier)
+                .build();
+    }
+
+    @Test
+    void product_matchesModelMapper() {
+        Product product = transaction.getProduct();
+
+        assertEquals(modelMapper.map(product, ProductDTO.class), dtoMapper.toProductDTO(product));
+    }
+
+    @Test
+    void supplierAndCategory_matchModelMapper() {
+        Product product = transaction.getProduct();
+
+        assertEquals(modelMapper.map(product.getSupplier(), SupplierDTO.class), dtoMapper.toSupplierDTO(product.getSupplier()));
+        assertEquals(modelMapper.map(product.getCategory(), CategoryDTO.class), dtoMapper.toCategoryDTO(product.getCategory()));
+    }
+
+    @Test
+    void transactionDetail_matchesModelMapperWithoutPassword() {
+        TransactionDTO expected = modelMapper.map(transaction, TransactionDTO.class);
+        expected.getUser().setPassword(null);
+
+        assertEquals(expected, dtoMapper.toTransactionDetailDTO(transaction));
+    }
+
+    @Test
+    void transaction_leavesAssociationsOut() {
+        TransactionDTO dto = dtoMapper.toTransactionDTO(transaction);
+
+        assertNull(dto.getProduct());
+        assertNull(dto.getUser());
+        assertNull(dto.getSupplier());
+        assertEquals(TransactionType.SALE, dto.getTransactionType());
+    }
+
+    @Test
+    void user_neverCopiesPassword() {
+        UserDTO dto = dtoMapper.toUserDTO(transaction.getUser());
+
+        assertNull(dto.getPassword());
+        assertEquals("test@example.com", dto.getEmail());
+    }
+}
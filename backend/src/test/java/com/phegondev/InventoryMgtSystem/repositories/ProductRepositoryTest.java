@@ -0,0 +1,332 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.projections.OptionView;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
+import com.phegondev.InventoryMgtSystem.specification.ProductFilter;
+import com.phegondev.InventoryMgtSystem.sql.SqlStatements;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // ----------------------------------------------------------------
+    // LISTING - statement count must not depend on catalog size
+    // ----------------------------------------------------------------
+    @ParameterizedTest
+    @ValueSource(ints = {5, 200})
+    void findAllWithCategoryAndSupplier_singleStatement(int catalogSize) {
+
+        seedCatalog(catalogSize);
+
+        try (SqlStatements statements = SqlStatements.track()) {
+            List<Product> products = productRepository.findAllWithCategoryAndSupplierBy(Sort.by(Sort.Direction.DESC, "id"));
+            products.forEach(product -> {
+                assertNotNull(product.getCategory().getName());
+                assertNotNull(product.getSupplier().getName());
+            });
+
+            assertEquals(catalogSize, products.size());
+            statements.assertAtMost(1);
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // KEYSET PAGE - walks the whole filtered catalog without duplicates
+    // ----------------------------------------------------------------
+    @Test
+    void keysetPages_coverFilteredCatalog() {
+
+        List<Category> categories = seedCatalog(45);
+        Long categoryId = categories.get(0).getId();
+        Specification<Product> filter = ProductFilter.byFilter(categoryId, null, 0, null);
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            String after = cursor;
+            List<Product> page = SqlStatements.assertMaxStatements(1, () -> {
+                List<Product> products = productRepository.findBy(
+                        filter.and(ProductFilter.afterCursor(after, ProductFilter.SORT_BY_NAME)),
+                        query -> query.sortBy(ProductFilter.sortFor(ProductFilter.SORT_BY_NAME))
+                                .limit(4)
+                                .project("category", "supplier")
+                                .all());
+                products.forEach(product -> assertNotNull(product.getSupplier().getName()));
+                return products;
+            });
+
+            page.forEach(product -> {
+                assertEquals(categoryId, product.getCategory().getId());
+                assertTrue(seen.add(product.getId()));
+            });
+            cursor = page.size() < 4 ? null : ProductFilter.cursorFor(page.get(page.size() - 1), ProductFilter.SORT_BY_NAME);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(15, seen.size());
+        assertEquals(4, pages);
+    }
+
+    // ----------------------------------------------------------------
+    // VIEWS - listing rows without entities or a category join
+    // ----------------------------------------------------------------
+    @ParameterizedTest
+    @ValueSource(ints = {5, 200})
+    void findViews_singleStatementNoEntities(int catalogSize) {
+
+        List<Category> categories = seedCatalog(catalogSize);
+        Long categoryId = categories.get(1).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ProductView> views = SqlStatements.assertMaxStatements(1, () -> productRepository.findViews(
+                ProductFilter.byFilter(categoryId, null, null, null),
+                ProductFilter.sortFor(ProductFilter.SORT_BY_ID),
+                catalogSize));
+
+        assertFalse(views.isEmpty());
+        views.forEach(view -> {
+            assertEquals(categoryId, view.categoryId());
+            assertNotNull(view.supplierId());
+            assertTrue(view.supplierName().startsWith("Supplier "));
+            assertTrue(view.sku().startsWith("SKU-"));
+        });
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findViews_keysetPagesMatchEntityListing() {
+
+        seedCatalog(30);
+        String cursor = null;
+        int pages = 0;
+        Set<Long> seen = new HashSet<>();
+
+        do {
+            List<ProductView> page = productRepository.findViews(
+                    ProductFilter.afterCursor(cursor, ProductFilter.SORT_BY_NAME),
+                    ProductFilter.sortFor(ProductFilter.SORT_BY_NAME),
+                    8);
+            page.forEach(view -> assertTrue(seen.add(view.id())));
+            cursor = page.size() < 8 ? null : ProductFilter.cursorFor(page.get(page.size() - 1), ProductFilter.SORT_BY_NAME);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(30, seen.size());
+        assertEquals(4, pages);
+    }
+
+    @Test
+    void findViewsByIdIn_onlyRequestedRows() {
+
+        seedCatalog(10);
+        List<Long> ids = productRepository.findAll().stream().map(Product::getId).limit(3).toList();
+
+        List<ProductView> views = productRepository.findViewsByIdIn(ids);
+
+        assertEquals(Set.copyOf(ids), new HashSet<>(views.stream().map(ProductView::id).toList()));
+        views.forEach(view -> assertNotNull(view.supplierName()));
+    }
+
+    @Test
+    void findOptionsBy_idAndNameSorted() {
+
+        seedCatalog(3);
+
+        List<OptionView> options = productRepository.findOptionsBy(Sort.by(Sort.Direction.ASC, "name"));
+
+        assertEquals(List.of("Product 0", "Product 1", "Product 2"), options.stream().map(OptionView::getName).toList());
+        options.forEach(option -> assertNotNull(option.getId()));
+    }
+
+    // ----------------------------------------------------------------
+    // ENTITY GRAPHS - lazy by default, loaded together where asked
+    // ----------------------------------------------------------------
+    @Test
+    void findById_leavesAssociationsLazy() {
+
+        seedCatalog(1);
+        Long productId = productRepository.findAll().get(0).getId();
+        entityManager.clear();
+
+        Product product = productRepository.findById(productId).orElseThrow();
+
+        PersistenceUnitUtil persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        assertFalse(persistenceUnitUtil.isLoaded(product, "category"));
+        assertFalse(persistenceUnitUtil.isLoaded(product, "supplier"));
+    }
+
+    @Test
+    void findWithCategoryAndSupplierById_singleStatement() {
+
+        seedCatalog(1);
+        Long productId = productRepository.findAll().get(0).getId();
+        entityManager.clear();
+
+        try (SqlStatements statements = SqlStatements.track()) {
+            Product product = productRepository.findWithCategoryAndSupplierById(productId).orElseThrow();
+            assertEquals("Food", product.getCategory().getName());
+            assertEquals("Supplier A", product.getSupplier().getName());
+
+            statements.assertAtMost(1);
+        }
+    }
+
+    @Test
+    void categoryWithProducts_singleStatement() {
+
+        Long categoryId = seedCatalog(12).get(0).getId();
+
+        try (SqlStatements statements = SqlStatements.track()) {
+            Category category = categoryRepository.findWithProductsById(categoryId).orElseThrow();
+            assertEquals(4, category.getProducts().size());
+            category.getProducts().forEach(product -> assertNotNull(product.getSupplier().getName()));
+
+            statements.assertAtMost(1);
+        }
+    }
+
+    @Test
+    void deleteByCategoryId_removesOnlyThatCategory() {
+
+        List<Category> categories = seedCatalog(9);
+
+        int deleted = productRepository.deleteByCategoryId(categories.get(0).getId());
+
+        assertEquals(3, deleted);
+        assertEquals(6, productRepository.count());
+    }
+
+    // ----------------------------------------------------------------
+    // VERSION - validators move with bulk stock updates and the supplier
+    // ----------------------------------------------------------------
+    @Test
+    void findVersionById_movesWithStockAndSupplierChanges() {
+
+        seedCatalog(1);
+        Product product = productRepository.findAll().get(0);
+        backdate();
+
+        VersionStamp initial = productRepository.findVersionById(product.getId());
+        assertEquals(1L, initial.rows());
+        assertEquals(LocalDateTime.of(2020, 1, 1, 0, 0), initial.lastModified());
+
+        productRepository.incrementStock(product.getId(), 5);
+        VersionStamp afterStock = productRepository.findVersionById(product.getId());
+        assertNotEquals(initial.etag(), afterStock.etag());
+
+        backdate();
+        Supplier supplier = entityManager.find(Supplier.class, product.getSupplier().getId());
+        supplier.setName("Supplier Renamed");
+        entityManager.flush();
+        assertNotEquals(initial.etag(), productRepository.findVersionById(product.getId()).etag());
+
+        assertTrue(productRepository.findVersionById(-1L).isEmpty());
+    }
+
+    // ----------------------------------------------------------------
+    // STOCK - an entity save never writes back the stock it loaded
+    // ----------------------------------------------------------------
+    @Test
+    void save_keepsStockChangedSinceLoad() {
+
+        seedCatalog(1);
+        Product product = productRepository.findAll().get(0);
+
+        productRepository.incrementStock(product.getId(), 5);
+        product.setName("Renamed");
+        product.setStockQuantity(0);
+        productRepository.saveAndFlush(product);
+        entityManager.clear();
+
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals("Renamed", reloaded.getName());
+        assertEquals(15, reloaded.getStockQuantity());
+
+        productRepository.setStock(product.getId(), 3);
+        entityManager.clear();
+        assertEquals(3, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+    }
+
+    private void backdate() {
+        LocalDateTime past = LocalDateTime.of(2020, 1, 1, 0, 0);
+        entityManager.getEntityManager().createQuery("update Product p set p.updatedAt = :past")
+                .setParameter("past", past).executeUpdate();
+        entityManager.getEntityManager().createQuery("update Supplier s set s.updatedAt = :past")
+                .setParameter("past", past).executeUpdate();
+        entityManager.clear();
+    }
+
+    private List<Category> seedCatalog(int catalogSize) {
+
+        List<Category> categories = List.of(
+                entityManager.persist(Category.builder().name("Food").build()),
+                entityManager.persist(Category.builder().name("Clothes").build()),
+                entityManager.persist(Category.builder().name("Electronics").build()));
+
+        List<Supplier> suppliers = List.of(
+                entityManager.persist(Supplier.builder().name("Supplier A").contactInfo("a@test.com").build()),
+                entityManager.persist(Supplier.builder().name("Supplier B").contactInfo("b@test.com").build()));
+
+        for (int i = 0; i < catalogSize; i++) {
+            entityManager.persist(Product.builder()
+                    .name("Product " + i)
+                    .sku("SKU-" + i)
+                    .price(BigDecimal.TEN)
+                    .stockQuantity(10)
+                    .category(categories.get(i % categories.size()))
+                    .supplier(suppliers.get(i % suppliers.size()))
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return categories;
+    }
+}
@@ -0,0 +1,193 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.enums.RollupDimension;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.projections.OptionView;
+import com.phegondev.InventoryMgtSystem.projections.VersionStamp;
+import com.phegondev.InventoryMgtSystem.sql.SqlStatements;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// every repository call runs in its own session, so reads can only be shared through the second-level cache
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:referencecache;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void cleanup() {
+        rollupRepository.deleteAll();
+        categoryRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    // ----------------------------------------------------------------
+    // FIND BY ID - served from the cache after the first load
+    // ----------------------------------------------------------------
+    @Test
+    void findById_secondLoadDoesNotHitDatabase() {
+
+        Long categoryId = categoryRepository.save(Category.builder().name("Food").build()).getId();
+        Long supplierId = supplierRepository.save(Supplier.builder().name("Supplier A").contactInfo("a@test.com").build()).getId();
+        categoryRepository.findById(categoryId).orElseThrow();
+        supplierRepository.findById(supplierId).orElseThrow();
+
+        statistics.clear();
+        try (SqlStatements statements = SqlStatements.track()) {
+            assertEquals("Food", categoryRepository.findById(categoryId).orElseThrow().getName());
+            assertEquals("Supplier A", supplierRepository.findById(supplierId).orElseThrow().getName());
+
+            statements.assertAtMost(0);
+        }
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void update_isVisibleToTheNextRead() {
+
+        Category category = categoryRepository.save(Category.builder().name("Food").build());
+        categoryRepository.findById(category.getId()).orElseThrow();
+
+        category.setName("Groceries");
+        categoryRepository.save(category);
+
+        assertEquals("Groceries", categoryRepository.findById(category.getId()).orElseThrow().getName());
+    }
+
+    // ----------------------------------------------------------------
+    // FIND ALL - query cache, invalidated by writes to the table
+    // ----------------------------------------------------------------
+    @Test
+    void findAll_cachedUntilTableChanges() {
+
+        categoryRepository.save(Category.builder().name("Food").build());
+        categoryRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+
+        statistics.clear();
+        assertEquals(1, SqlStatements.assertMaxStatements(0, () -> categoryRepository.findAll(Sort.by(Sort.Direction.DESC, "id"))).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        categoryRepository.save(Category.builder().name("Clothes").build());
+
+        List<Category> categories = categoryRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+        assertEquals(List.of("Clothes", "Food"), categories.stream().map(Category::getName).toList());
+    }
+
+    @Test
+    void delete_removesFromCachedList() {
+
+        supplierRepository.save(Supplier.builder().name("Supplier A").contactInfo("a@test.com").build());
+        Supplier supplierB = supplierRepository.save(Supplier.builder().name("Supplier B").contactInfo("b@test.com").build());
+        assertEquals(2, supplierRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).size());
+
+        supplierRepository.deleteById(supplierB.getId());
+
+        assertEquals(1, supplierRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).size());
+        assertTrue(supplierRepository.findById(supplierB.getId()).isEmpty());
+    }
+
+    @Test
+    void supplierOptions_cachedUntilTableChanges() {
+
+        supplierRepository.save(Supplier.builder().name("Supplier B").contactInfo("b@test.com").build());
+        supplierRepository.findOptionsBy(Sort.by(Sort.Direction.ASC, "name"));
+
+        assertEquals(1, SqlStatements.assertMaxStatements(0, () -> supplierRepository.findOptionsBy(Sort.by(Sort.Direction.ASC, "name"))).size());
+
+        supplierRepository.save(Supplier.builder().name("Supplier A").contactInfo("a@test.com").build());
+
+        List<OptionView> options = supplierRepository.findOptionsBy(Sort.by(Sort.Direction.ASC, "name"));
+        assertEquals(List.of("Supplier A", "Supplier B"), options.stream().map(OptionView::getName).toList());
+    }
+
+    // ----------------------------------------------------------------
+    // VERSION - list validators, cached until the table changes
+    // ----------------------------------------------------------------
+    @Test
+    void findVersion_cachedAndMovedByEveryKindOfWrite() {
+
+        Category food = categoryRepository.save(Category.builder().name("Food").build());
+        Category clothes = categoryRepository.save(Category.builder().name("Clothes").build());
+        VersionStamp initial = categoryRepository.findVersion();
+        assertEquals(2L, initial.rows());
+        assertNotNull(initial.lastModified());
+
+        assertEquals(initial, SqlStatements.assertMaxStatements(0, categoryRepository::findVersion));
+
+        food.setName("Groceries");
+        categoryRepository.save(food);
+        VersionStamp afterUpdate = categoryRepository.findVersion();
+        assertNotEquals(initial.etag(), afterUpdate.etag());
+
+        categoryRepository.deleteById(clothes.getId());
+        assertNotEquals(afterUpdate.etag(), categoryRepository.findVersion().etag());
+    }
+
+    // ----------------------------------------------------------------
+    // NATIVE WRITES - the rollup upsert must not flush the whole cache
+    // ----------------------------------------------------------------
+    @Test
+    void rollupUpsert_keepsReferenceDataCached() {
+
+        Long categoryId = categoryRepository.save(Category.builder().name("Food").build()).getId();
+        categoryRepository.findById(categoryId).orElseThrow();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> rollupRepository.upsert(
+                RollupPeriod.DAY.name(), LocalDate.now(), RollupDimension.TOTAL.name(), 0L,
+                "SALE", "COMPLETED", 0, 1, 1, BigDecimal.TEN));
+
+        SqlStatements.assertMaxStatements(0, () -> categoryRepository.findById(categoryId).orElseThrow());
+    }
+}
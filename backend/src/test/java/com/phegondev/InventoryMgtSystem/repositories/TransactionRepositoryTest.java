@@ -0,0 +1,253 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.projections.TransactionExportRow;
+import com.phegondev.InventoryMgtSystem.specification.TransactionFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Product laptop;
+    private Product rice;
+    private Supplier supplier;
+    private User cashier;
+
+    @BeforeEach
+    void seed() {
+        Category category = entityManager.persist(Category.builder().name("General").build());
+        supplier = entityManager.persist(Supplier.builder().name("Acme Supplies").contactInfo("acme@test.com").build());
+        cashier = entityManager.persist(User.builder()
+                .name("Cashier").email("cashier@test.com").password("secret")
+                .phoneNumber("9876543210").role(UserRole.MANAGER)
+                .build());
+        laptop = entityManager.persist(Product.builder()
+                .name("Laptop").sku("LAP-001").price(BigDecimal.TEN).stockQuantity(5)
+                .category(category).supplier(supplier)
+                .build());
+        rice = entityManager.persist(Product.builder()
+                .name("Rice").sku("RIC-001").price(BigDecimal.ONE).stockQuantity(50)
+                .category(category).supplier(supplier)
+                .build());
+
+        persist(laptop, TransactionType.PURCHASE, TransactionStatus.COMPLETED, supplier);
+        persist(laptop, TransactionType.SALE, TransactionStatus.PENDING, null);
+        persist(rice, TransactionType.SALE, TransactionStatus.COMPLETED, null);
+        persist(rice, TransactionType.RETURN_TO_SUPPLIER, TransactionStatus.PROCESSING, supplier);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // ----------------------------------------------------------------
+    // STRUCTURED FILTERS
+    // ----------------------------------------------------------------
+    @Test
+    void byFilter_combinesExactMatches() {
+
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setTransactionType(TransactionType.SALE);
+        filter.setProductId(rice.getId());
+
+        List<Transaction> transactions = find(filter);
+
+        assertEquals(1, transactions.size());
+        assertEquals(TransactionStatus.COMPLETED, transactions.get(0).getStatus());
+
+        filter = new TransactionFilterRequest();
+        filter.setSupplierId(supplier.getId());
+        filter.setUserId(cashier.getId());
+        assertEquals(2, find(filter).size());
+    }
+
+    @Test
+    void byFilter_createdAtIsHalfOpenRange() {
+
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setFrom(LocalDateTime.now().minusHours(1));
+        filter.setTo(LocalDateTime.now().plusHours(1));
+        assertEquals(4, find(filter).size());
+
+        filter.setFrom(LocalDateTime.now().plusHours(1));
+        filter.setTo(null);
+        assertEquals(0, find(filter).size());
+    }
+
+    @Test
+    void byFilter_typedFiltersAloneStayOnTheTransactionsTable() {
+
+        CriteriaBuilder criteriaBuilder = entityManager.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = criteriaBuilder.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+
+        TransactionFilterRequest filter = text("   ");
+        filter.setTransactionType(TransactionType.SALE);
+        filter.setStatus(TransactionStatus.COMPLETED);
+        filter.setProductId(rice.getId());
+        filter.setSupplierId(supplier.getId());
+        filter.setUserId(cashier.getId());
+        filter.setFrom(LocalDateTime.now().minusHours(1));
+        TransactionFilter.byFilter(filter).toPredicate(root, query, criteriaBuilder);
+
+        // no joins means no LIKE across them: only the transactions table's own columns are compared
+        assertTrue(root.getJoins().isEmpty());
+
+        filter.setSupplierId(null);
+        assertEquals(1, find(filter).size());
+    }
+
+    // ----------------------------------------------------------------
+    // FREE TEXT
+    // ----------------------------------------------------------------
+    @Test
+    void byFilter_textMatchesPrefixesAndConstants() {
+
+        assertEquals(2, find(text("LAP")).size());
+        assertEquals(2, find(text("Acme")).size());
+        assertEquals(4, find(text("cashier@")).size());
+        assertEquals(1, find(text("pending")).size());
+        assertEquals(0, find(text("aptop")).size());
+        assertEquals(0, find(text("%")).size());
+    }
+
+    @Test
+    void byFilter_joinsEachTableOnce() {
+
+        CriteriaBuilder criteriaBuilder = entityManager.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = criteriaBuilder.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+
+        TransactionFilterRequest filter = text("LAP");
+        filter.setProductId(laptop.getId());
+        TransactionFilter.byFilter(filter).toPredicate(root, query, criteriaBuilder);
+
+        assertEquals(3, root.getJoins().size());
+    }
+
+    // ----------------------------------------------------------------
+    // EXPORT STREAM - filtered flat rows, nothing attached to the session
+    // ----------------------------------------------------------------
+    @Test
+    void streamExportRows_appliesFilterOldestFirst() {
+
+        TransactionFilterRequest filter = text("Acme");
+        filter.setStatus(TransactionStatus.PROCESSING);
+
+        List<TransactionExportRow> rows;
+        try (Stream<TransactionExportRow> stream = transactionRepository.streamExportRows(TransactionFilter.byFilter(filter))) {
+            rows = stream.toList();
+        }
+
+        assertEquals(1, rows.size());
+        TransactionExportRow row = rows.get(0);
+        assertEquals(TransactionType.RETURN_TO_SUPPLIER, row.transactionType());
+        assertEquals("RIC-001", row.productSku());
+        assertEquals("Acme Supplies", row.supplierName());
+        assertEquals("cashier@test.com", row.userEmail());
+
+        try (Stream<TransactionExportRow> stream = transactionRepository.streamExportRows(TransactionFilter.byFilter(new TransactionFilterRequest()))) {
+            List<Long> ids = stream.map(TransactionExportRow::id).toList();
+            assertEquals(ids.stream().sorted().toList(), ids);
+            assertEquals(4, ids.size());
+        }
+    }
+
+    @Test
+    void streamExportRows_keepsNoEntitiesInSession() {
+
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        try (Stream<TransactionExportRow> stream = transactionRepository.streamExportRows(TransactionFilter.byFilter(text("cashier@")))) {
+            assertEquals(4, stream.count());
+        }
+
+        assertEquals(0, session.getStatistics().getEntityCount());
+    }
+
+    // ----------------------------------------------------------------
+    // MONTH AND YEAR - half-open range, no functions on created_at
+    // ----------------------------------------------------------------
+    @Test
+    void byMonthAndYear_boundariesAcrossYearEnd() {
+
+        List<Transaction> all = transactionRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
+        moveCreatedAt(all.get(0).getId(), LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_000_000));
+        moveCreatedAt(all.get(1).getId(), LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertEquals(List.of(all.get(0).getId()), ids(TransactionFilter.byMonthAndYear(12, 2024)));
+        assertEquals(List.of(all.get(1).getId()), ids(TransactionFilter.byMonthAndYear(1, 2025)));
+        assertEquals(0, ids(TransactionFilter.byMonthAndYear(11, 2024)).size());
+    }
+
+    private void moveCreatedAt(Long transactionId, LocalDateTime createdAt) {
+        entityManager.getEntityManager()
+                .createQuery("update Transaction t set t.createdAt = :createdAt where t.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", transactionId)
+                .executeUpdate();
+    }
+
+    private List<Long> ids(Specification<Transaction> spec) {
+        return transactionRepository.findAll(spec).stream().map(Transaction::getId).toList();
+    }
+
+    private List<Transaction> find(TransactionFilterRequest filter) {
+        return transactionRepository.findAll(TransactionFilter.byFilter(filter), Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    private TransactionFilterRequest text(String text) {
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setText(text);
+        return filter;
+    }
+
+    private void persist(Product product, TransactionType type, TransactionStatus status, Supplier supplier) {
+        entityManager.persist(Transaction.builder()
+                .transactionType(type)
+                .status(status)
+                .product(product)
+                .user(cashier)
+                .supplier(supplier)
+                .totalProducts(1)
+                .totalPrice(product.getPrice())
+                .build());
+    }
+}
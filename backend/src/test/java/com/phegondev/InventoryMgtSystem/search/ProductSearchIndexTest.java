@@ -0,0 +1,120 @@
+package com.phegondev.InventoryMgtSystem.search;
+
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+    private Category electronics;
+    private Supplier acme;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        electronics = Category.builder().id(1L).name("Electronics").build();
+        acme = Supplier.builder().id(1L).name("Acme Corp").build();
+
+        index.indexAll(List.of(
+                product(1L, "Gaming Laptop", "LAP-001", "Fast laptop with RGB keyboard"),
+                product(2L, "Laptop Sleeve", "SLV-002", "Neoprene sleeve"),
+                product(3L, "Wireless Mouse", "MOU-003", "Works with any laptop"),
+                product(4L, "USB Cable", "CAB-004", "Braided cable")));
+    }
+
+    // ----------------------------------------------------------
+    // PREFIX MATCHING AND RANKING
+    // ----------------------------------------------------------
+    @Test
+    void testPrefixMatchesRankedByField() {
+        SearchHits hits = index.search("lap", 0, 10);
+
+        // whole sku term "lap" beats a name prefix, a description-only match comes last
+        assertEquals(List.of(1L, 2L, 3L), hits.getProductIds());
+        assertEquals(3, hits.getTotalMatches());
+    }
+
+    @Test
+    void testAllTokensMustMatch() {
+        assertEquals(List.of(1L), index.search("gaming lap", 0, 10).getProductIds());
+        assertEquals(List.of(), index.search("gaming cable", 0, 10).getProductIds());
+    }
+
+    @Test
+    void testMatchesSkuCategoryAndSupplier() {
+        assertEquals(List.of(3L), index.search("mou-003", 0, 10).getProductIds());
+        assertEquals(4, index.search("electro", 0, 10).getTotalMatches());
+        assertEquals(4, index.search("ACME", 0, 10).getTotalMatches());
+    }
+
+    @Test
+    void testPagination() {
+        SearchHits secondPage = index.search("electronics", 1, 3);
+
+        assertEquals(List.of(1L), secondPage.getProductIds());
+        assertEquals(4, secondPage.getTotalMatches());
+        assertEquals(List.of(), index.search("electronics", 5, 3).getProductIds());
+    }
+
+    // ----------------------------------------------------------
+    // INCREMENTAL UPDATES
+    // ----------------------------------------------------------
+    @Test
+    void testUpdateAndRemove() {
+        index.index(product(4L, "HDMI Cable", "CAB-004", "Braided cable"));
+        assertEquals(List.of(4L), index.search("hdmi", 0, 10).getProductIds());
+        assertEquals(List.of(), index.search("usb", 0, 10).getProductIds());
+
+        index.remove(4L);
+        assertEquals(0, index.search("cable", 0, 10).getTotalMatches());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testCategoryRenameAndDelete() {
+        index.renameCategory(1L, "Computers");
+        assertEquals(0, index.search("electronics", 0, 10).getTotalMatches());
+        assertEquals(4, index.search("comp", 0, 10).getTotalMatches());
+
+        index.removeCategory(1L);
+        assertEquals(0, index.size());
+    }
+
+    // ----------------------------------------------------------
+    // BULK LOADS - live writes during a load win over the load's older copies
+    // ----------------------------------------------------------
+    @Test
+    void testLoadSkipsProductsChangedDuringLoad() {
+        index.beginLoad();
+        index.remove(2L);
+        index.index(product(3L, "Bluetooth Mouse", "MOU-003", "Works with any laptop"));
+
+        // read before those writes
+        index.load(List.of(
+                product(2L, "Laptop Sleeve", "SLV-002", "Neoprene sleeve"),
+                product(3L, "Wireless Mouse", "MOU-003", "Works with any laptop"),
+                product(5L, "Laptop Stand", "STD-005", "Aluminium")));
+        index.unload(List.of(3L, 4L));
+        index.endLoad();
+
+        assertEquals(List.of(5L), index.search("stand", 0, 10).getProductIds());
+        assertEquals(0, index.search("sleeve", 0, 10).getTotalMatches());
+        assertEquals(List.of(3L), index.search("bluetooth", 0, 10).getProductIds());
+        assertEquals(0, index.search("usb", 0, 10).getTotalMatches());
+        assertArrayEquals(new long[]{1L, 3L, 5L}, index.ids());
+    }
+
+    private Product product(Long id, String name, String sku, String description) {
+        return Product.builder()
+                .id(id).name(name).sku(sku).description(description)
+                .category(electronics).supplier(acme)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.phegondev.InventoryMgtSystem.search;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// another node's writes are simulated with plain JDBC, which this node's index never sees
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, ProductSearchIndex.class, SearchIndexLoader.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:searchloader;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class SearchIndexLoaderTest {
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    @Test
+    void reconcile_picksUpOtherNodesChangesAndDeletes() {
+
+        Category category = categoryRepository.save(Category.builder().name("Electronics").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Acme").contactInfo("acme@test.com").build());
+        List<Product> products = productRepository.saveAll(List.of(
+                product("Gaming Laptop", "LAP-001", category, supplier),
+                product("Laptop Sleeve", "SLV-002", category, supplier),
+                product("Wireless Mouse", "MOU-003", category, supplier)));
+        searchIndexLoader.warmUp();
+        assertEquals(3, productSearchIndex.size());
+
+        jdbcTemplate.update("update products set name = 'Bluetooth Mouse', updated_at = ? where id = ?",
+                LocalDateTime.now(), products.get(2).getId());
+        jdbcTemplate.update("delete from products where id = ?", products.get(1).getId());
+
+        searchIndexLoader.reconcile();
+
+        assertEquals(List.of(products.get(2).getId()), productSearchIndex.search("bluetooth", 0, 10).getProductIds());
+        assertEquals(0, productSearchIndex.search("sleeve", 0, 10).getTotalMatches());
+        assertEquals(1, productSearchIndex.search("laptop", 0, 10).getTotalMatches());
+        assertEquals(2, productSearchIndex.size());
+    }
+
+    private Product product(String name, String sku, Category category, Supplier supplier) {
+        return Product.builder()
+                .name(name).sku(sku).price(BigDecimal.TEN).stockQuantity(1)
+                .category(category).supplier(supplier)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.phegondev.InventoryMgtSystem.security;
+
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthUserCacheTest {
+
+    private AuthUserCache authUserCache;
+
+    @BeforeEach
+    void setUp() {
+        authUserCache = new AuthUserCache(100, Duration.ofMinutes(5),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    // ----------------------------------------------------------
+    // GET / PUT
+    // ----------------------------------------------------------
+    @Test
+    void testGetReturnsCachedPrincipal() {
+        AuthUser authUser = authUser(1L, "a@test.com");
+        authUserCache.put("token-a", authUser, inMinutes(60));
+
+        assertSame(authUser, authUserCache.get("token-a"));
+        assertNull(authUserCache.get("token-b"));
+        assertEquals(1, authUserCache.stats().hitCount());
+    }
+
+    @Test
+    void testExpiredTokenIsNeverServed() {
+        authUserCache.put("token-a", authUser(1L, "a@test.com"), new Date(System.currentTimeMillis() - 1000));
+
+        assertNull(authUserCache.get("token-a"));
+    }
+
+    // ----------------------------------------------------------
+    // EVICT USER
+    // ----------------------------------------------------------
+    @Test
+    void testEvictUserDropsEveryTokenOfThatUser() {
+        authUserCache.put("token-a1", authUser(1L, "a@test.com"), inMinutes(60));
+        authUserCache.put("token-a2", authUser(1L, "a@test.com"), inMinutes(60));
+        authUserCache.put("token-b", authUser(2L, "b@test.com"), inMinutes(60));
+
+        authUserCache.evictUser(1L);
+
+        assertNull(authUserCache.get("token-a1"));
+        assertNull(authUserCache.get("token-a2"));
+        assertNotNull(authUserCache.get("token-b"));
+    }
+
+    private AuthUser authUser(Long id, String email) {
+        return AuthUser.builder()
+                .user(User.builder().id(id).email(email).role(UserRole.MANAGER).build())
+                .build();
+    }
+
+    private Date inMinutes(int minutes) {
+        return new Date(System.currentTimeMillis() + Duration.ofMinutes(minutes).toMillis());
+    }
+}
@@ -0,0 +1,61 @@
+package com.phegondev.InventoryMgtSystem.security;
+
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CurrentUserResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserResolver currentUserResolver;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // ----------------------------------------------------------
+    // CURRENT USER REFERENCE
+    // ----------------------------------------------------------
+    @Test
+    void testReturnsReferenceWithoutQueryingByEmail() {
+        AuthUser authUser = AuthUser.builder()
+                .user(User.builder().id(7L).email("cashier@test.com").role(UserRole.MANAGER).build())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(authUser, null, authUser.getAuthorities()));
+
+        User reference = User.builder().id(7L).build();
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        assertSame(reference, currentUserResolver.currentUserReference());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testThrowsWhenNoAuthenticatedUser() {
+        assertThrows(NotFoundException.class, () -> currentUserResolver.currentUserReference());
+        verifyNoInteractions(userRepository);
+    }
+}
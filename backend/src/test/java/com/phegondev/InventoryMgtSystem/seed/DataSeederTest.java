@@ -0,0 +1,158 @@
+package com.phegondev.InventoryMgtSystem.seed;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.config.TransactionSequenceInitializer;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import com.phegondev.InventoryMgtSystem.services.AnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the seeder commits batch by batch, so the test runs outside a test transaction
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class DataSeederTest {
+
+    private static final int PRODUCTS = 400;
+    private static final int TRANSACTIONS = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final AnalyticsService analyticsService = Mockito.mock(AnalyticsService.class);
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @AfterEach
+    void cleanup() {
+        for (String table : List.of("transactions", "products", "categories", "suppliers", "users")) {
+            jdbcTemplate.update("delete from " + table);
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // VOLUME AND SKEW - configured counts, long-tailed sales
+    // ----------------------------------------------------------------
+    @Test
+    void run_seedsConfiguredCountsWithSkewedSales() {
+
+        seeder(42).run(null);
+
+        assertEquals(6L, count("categories"));
+        assertEquals(12L, count("suppliers"));
+        assertEquals(8L, count("users"));
+        assertEquals(PRODUCTS, count("products"));
+        assertEquals(TRANSACTIONS, count("transactions"));
+
+        //uniform sales would give every product about 25 transactions
+        Long topProduct = jdbcTemplate.queryForObject(
+                "select max(c) from (select count(*) c from transactions group by product_id) t", Long.class);
+        assertTrue(topProduct > 20L * TRANSACTIONS / PRODUCTS, "top product has only " + topProduct);
+
+        //purchases and returns name a supplier, sales do not
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "select count(*) from transactions where (transaction_type = 'SALE') = (supplier_id is not null)", Long.class));
+
+        User admin = userRepository.findByEmail(DataSeeder.ADMIN_EMAIL).orElseThrow();
+        assertTrue(passwordEncoder.matches("secret", admin.getPassword()));
+        Mockito.verify(analyticsService).rebuildRollups();
+    }
+
+    @Test
+    void run_sameSeedGivesSameData() {
+
+        seeder(7).run(null);
+        List<String> first = snapshot();
+        cleanup();
+        seeder(7).run(null);
+
+        assertEquals(first, snapshot());
+    }
+
+    // ----------------------------------------------------------------
+    // RERUNS AND IDS - never seeds twice, later inserts do not collide
+    // ----------------------------------------------------------------
+    @Test
+    void run_skipsNonEmptyDatabase() {
+
+        seeder(42).run(null);
+        seeder(43).run(null);
+
+        assertEquals(PRODUCTS, count("products"));
+        assertEquals(TRANSACTIONS, count("transactions"));
+    }
+
+    @Test
+    void transactionSavedAfterSeeding_getsFreshId() {
+
+        seeder(42).run(null);
+        Long maxSeeded = jdbcTemplate.queryForObject("select max(id) from transactions", Long.class);
+
+        Transaction saved = new TransactionTemplate(transactionManager).execute(status -> transactionRepository.save(
+                Transaction.builder()
+                        .totalProducts(1)
+                        .totalPrice(BigDecimal.ONE)
+                        .transactionType(TransactionType.SALE)
+                        .status(TransactionStatus.COMPLETED)
+                        .product(productRepository.getReferenceById(productRepository.findAll().get(0).getId()))
+                        .build()));
+
+        assertTrue(saved.getId() > maxSeeded);
+    }
+
+    private DataSeeder seeder(long randomSeed) {
+        return new DataSeeder(jdbcTemplate, new TransactionTemplate(transactionManager), passwordEncoder, analyticsService,
+                new TransactionSequenceInitializer(jdbcTemplate),
+                6, 12, 8, PRODUCTS, TRANSACTIONS, 30, 1000, randomSeed, "secret", true);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    //ids differ between runs, so compare what the rows say rather than which ids they got
+    private List<String> snapshot() {
+        return jdbcTemplate.queryForList("select concat(p.sku, '|', p.price, '|', p.stock_quantity, '|', " +
+                "(select count(*) from transactions t where t.product_id = p.id)) from products p order by p.sku", String.class);
+    }
+}
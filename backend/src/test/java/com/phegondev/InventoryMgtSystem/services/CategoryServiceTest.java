@@ -3,8 +3,11 @@ package com.phegondev.InventoryMgtSystem.services;
 import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
 import com.phegondev.InventoryMgtSystem.models.Category;
 import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
 import com.phegondev.InventoryMgtSystem.services.impl.CategoryServiceImpl;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +15,6 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 
 import java.util.*;
@@ -25,9 +27,18 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductRepository productRepository;
+
     @Mock
     private ModelMapper modelMapper;
 
+    @Spy
+    private DtoMapper dtoMapper = new DtoMapper();
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -70,20 +81,9 @@ class CategoryServiceTest {
 
     List<Category> entityList = List.of(c1);
 
-    // mock DTO
-    CategoryDTO dto = new CategoryDTO();
-    dto.setId(1L);
-    dto.setName("Food");
-
-    List<CategoryDTO> dtoList = List.of(dto);
-
     // repo mock
     when(categoryRepository.findAll(any(Sort.class))).thenReturn(entityList);
 
-    // 🔥 FIX: MATCH THE EXACT TYPE
-    when(modelMapper.map(eq(entityList), any(java.lang.reflect.Type.class)))
-            .thenReturn(dtoList);
-
     Response res = categoryService.getAllCategories();
 
     assertEquals(200, res.getStatus());
@@ -104,12 +104,7 @@ class CategoryServiceTest {
         category.setId(5L);
         category.setName("Clothes");
 
-        CategoryDTO dto = new CategoryDTO();
-        dto.setId(5L);
-        dto.setName("Clothes");
-
-        when(categoryRepository.findById(5L)).thenReturn(Optional.of(category));
-        when(modelMapper.map(category, CategoryDTO.class)).thenReturn(dto);
+        when(categoryRepository.findWithProductsById(5L)).thenReturn(Optional.of(category));
 
         Response response = categoryService.getCategoryById(5L);
 
@@ -124,7 +119,7 @@ class CategoryServiceTest {
     @Test
     void getCategoryById_notFound() {
 
-        when(categoryRepository.findById(10L)).thenReturn(Optional.empty());
+        when(categoryRepository.findWithProductsById(10L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
             categoryService.getCategoryById(10L);
@@ -168,6 +163,7 @@ class CategoryServiceTest {
 
         Response response = categoryService.deleteCategory(3L);
 
+        verify(productRepository).deleteByCategoryId(3L);
         verify(categoryRepository).deleteById(3L);
         assertEquals(200, response.getStatus());
         assertEquals("Category Was Successfully Deleted", response.getMessage());
@@ -184,5 +180,7 @@ class CategoryServiceTest {
         assertThrows(NotFoundException.class, () -> {
             categoryService.deleteCategory(99L);
         });
+
+        verify(productRepository, never()).deleteByCategoryId(any());
     }
 }
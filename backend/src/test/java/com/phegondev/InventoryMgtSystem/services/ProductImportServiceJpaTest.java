@@ -0,0 +1,216 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.dtos.ImportErrorDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ImportReportDTO;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
+import com.phegondev.InventoryMgtSystem.services.impl.ProductImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Real batches against H2 in MySQL mode, each batch commits on its own
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, JacksonAutoConfiguration.class, ProductImportServiceImpl.class, ProductSearchIndex.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productimport;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProductImportServiceJpaTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    private Category electronics;
+    private Supplier acme;
+
+    @BeforeEach
+    void seed() {
+        electronics = categoryRepository.save(Category.builder().name("Electronics").build());
+        categoryRepository.save(Category.builder().name("Food").build());
+        acme = supplierRepository.save(Supplier.builder().name("Acme").contactInfo("acme@test.com").build());
+    }
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    // ----------------------------------------------------------------
+    // CSV - insert, update by sku, per-row errors
+    // ----------------------------------------------------------------
+    @Test
+    void importCsv_upsertsBySkuAndReportsBadRows() {
+
+        productRepository.save(Product.builder()
+                .name("Old Laptop").sku("LAP-001").price(BigDecimal.ONE).stockQuantity(1)
+                .category(electronics).supplier(acme)
+                .build());
+
+        String csv = """
+                sku,name,price,stockQuantity,description,expiryDate,categoryName,supplierId
+                LAP-001,Laptop,999.99,5,"15"", matte screen",,electronics,%1$d
+                RIC-001,Rice,2.50,,"Long grain,
+                basmati",2026-12-31,Food,%1$d
+                BAD-001,Broken,-1,1,,,Food,%1$d
+                BAD-002,Ghost,1,1,,,Toys,%1$d
+                lap-001,Duplicate,1,1,,,Food,%1$d
+                ,No Sku,1,1,,,Food,%1$d
+                """.formatted(acme.getId());
+
+        ImportReportDTO report = importFile("products.csv", csv);
+
+        assertEquals(6, report.getRowsRead());
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(4, report.getFailed());
+        assertEquals(1, report.getBatches());
+
+        Map<Long, String> errors = report.getErrors().stream()
+                .collect(Collectors.toMap(ImportErrorDTO::getRow, ImportErrorDTO::getMessage));
+        assertEquals("Price must be a positive number", errors.get(3L));
+        assertEquals("Category 'Toys' does not exist", errors.get(4L));
+        assertEquals("Duplicate SKU, first used on row 1", errors.get(5L));
+        assertEquals("SKU is required", errors.get(6L));
+
+        Map<String, Product> products = productRepository.findAllWithCategoryAndSupplierBy(Sort.by("sku")).stream()
+                .collect(Collectors.toMap(Product::getSku, product -> product));
+        assertEquals(2, products.size());
+        assertEquals("Laptop", products.get("LAP-001").getName());
+        assertEquals(0, new BigDecimal("999.99").compareTo(products.get("LAP-001").getPrice()));
+        assertEquals("15\", matte screen", products.get("LAP-001").getDescription());
+        assertEquals("Long grain,\nbasmati", products.get("RIC-001").getDescription());
+        assertEquals(0, products.get("RIC-001").getStockQuantity());
+        assertEquals("Food", products.get("RIC-001").getCategory().getName());
+        assertEquals(2026, products.get("RIC-001").getExpiryDate().getYear());
+
+        assertEquals(List.of(products.get("RIC-001").getId()), productSearchIndex.search("basmati", 0, 10).getProductIds());
+    }
+
+    @Test
+    void importCsv_writesInBatches() {
+
+        StringBuilder csv = new StringBuilder("sku,name,price,categoryId,supplierId\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("SKU-").append(i).append(",Product ").append(i).append(",1.00,")
+                    .append(electronics.getId()).append(',').append(acme.getId()).append('\n');
+        }
+
+        ImportReportDTO report = importFile("products.csv", csv.toString());
+
+        assertEquals(1200, report.getInserted());
+        assertEquals(0, report.getFailed());
+        assertEquals(3, report.getBatches());
+        assertEquals(1200, productRepository.count());
+    }
+
+    @Test
+    void importCsv_withoutStockKeepsExistingStock() {
+
+        productRepository.save(Product.builder()
+                .name("Laptop").sku("LAP-001").price(BigDecimal.ONE).stockQuantity(7)
+                .category(electronics).supplier(acme)
+                .build());
+
+        String csv = "sku,name,price,categoryId,supplierId\n"
+                + "LAP-001,Laptop Pro,2," + electronics.getId() + "," + acme.getId() + "\n"
+                + "LAP-002,Laptop Air,3," + electronics.getId() + "," + acme.getId() + "\n";
+
+        ImportReportDTO report = importFile("products.csv", csv);
+
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getInserted());
+        Map<String, Product> products = productRepository.findAll().stream()
+                .collect(Collectors.toMap(Product::getSku, product -> product));
+        assertEquals("Laptop Pro", products.get("LAP-001").getName());
+        assertEquals(7, products.get("LAP-001").getStockQuantity());
+        assertEquals(0, products.get("LAP-002").getStockQuantity());
+    }
+
+    @Test
+    void importCsv_malformedTailKeepsEarlierRows() {
+
+        String csv = "sku,name,price,categoryId,supplierId\n"
+                + "SKU-1,Kept,1," + electronics.getId() + "," + acme.getId() + "\n"
+                + "SKU-2,\"never closed,1," + electronics.getId() + "," + acme.getId() + "\n";
+
+        ImportReportDTO report = importFile("products.csv", csv);
+
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Stopped reading the file"));
+        assertEquals(1, productRepository.count());
+    }
+
+    // ----------------------------------------------------------------
+    // JSON - array of objects, numbers and strings both accepted
+    // ----------------------------------------------------------------
+    @Test
+    void importJson_readsArrayOfObjects() {
+
+        String json = """
+                [
+                  {"sku": "CAM-001", "name": "Camera", "price": 249.90, "stockQuantity": 3,
+                   "categoryId": %d, "supplierName": "acme"},
+                  {"sku": "CAM-002", "name": "Tripod", "price": "19.99", "categoryId": 999999, "supplierId": %d}
+                ]
+                """.formatted(electronics.getId(), acme.getId());
+
+        ImportReportDTO report = importFile("products.json", json);
+
+        assertEquals(2, report.getRowsRead());
+        assertEquals(1, report.getInserted());
+        assertEquals("Category 999999 does not exist", report.getErrors().get(0).getMessage());
+
+        Product camera = productRepository.findAll().get(0);
+        assertEquals(0, new BigDecimal("249.90").compareTo(camera.getPrice()));
+        assertEquals(3, camera.getStockQuantity());
+    }
+
+    private ImportReportDTO importFile(String fileName, String content) {
+        MockMultipartFile file = new MockMultipartFile("file", fileName, "application/octet-stream",
+                content.getBytes(StandardCharsets.UTF_8));
+        return productImportService.importProducts(file, null).getImportReport();
+    }
+}
@@ -0,0 +1,161 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.images.ImageStore;
+import com.phegondev.InventoryMgtSystem.images.ImageVariantGenerator;
+import com.phegondev.InventoryMgtSystem.images.StagedImage;
+import com.phegondev.InventoryMgtSystem.images.StoredImage;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
+import com.phegondev.InventoryMgtSystem.services.impl.ProductServiceImpl;
+import com.phegondev.InventoryMgtSystem.services.impl.StockLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// the edit, the stock count and what follows the commit, against H2 in MySQL mode
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, ProductServiceImpl.class, StockLedger.class, DtoMapper.class, ProductSearchIndex.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productservice;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProductServiceJpaTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private ImageStore imageStore;
+
+    @MockitoBean
+    private ImageVariantGenerator imageVariantGenerator;
+
+    private final MockMultipartFile imageFile = new MockMultipartFile("imageFile", "a.png", "image/png", new byte[]{1});
+
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        Category category = categoryRepository.save(Category.builder().name("Electronics").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Acme").contactInfo("acme@test.com").build());
+        product = productRepository.save(Product.builder()
+                .name("Laptop").sku("LAP-001").price(BigDecimal.TEN).stockQuantity(5)
+                .category(category).supplier(supplier)
+                .build());
+        productSearchIndex.index(product);
+    }
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    // ----------------------------------------------------------------
+    // UPDATE - one transaction for the fields and the stock count
+    // ----------------------------------------------------------------
+    @Test
+    void updateProduct_commitsFieldsAndStockTogether() {
+
+        productService.updateProduct(edit("Gaming Laptop", 8), null);
+
+        Product saved = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals("Gaming Laptop", saved.getName());
+        assertEquals(8, saved.getStockQuantity());
+        assertTrue(productSearchIndex.search("gaming", 0, 10).getProductIds().contains(product.getId()));
+    }
+
+    @Test
+    void updateProduct_failedStockWriteLeavesTheRowUnchanged() {
+
+        assertThrows(IllegalArgumentException.class, () -> productService.updateProduct(edit("Gaming Laptop", -1), null));
+
+        Product saved = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals("Laptop", saved.getName());
+        assertEquals(5, saved.getStockQuantity());
+        assertFalse(productSearchIndex.search("gaming", 0, 10).getProductIds().contains(product.getId()));
+    }
+
+    // ----------------------------------------------------------------
+    // FORM IMAGE - stored off the request thread, and only for a committed edit
+    // ----------------------------------------------------------------
+    @Test
+    void updateProduct_formImageIsStoredAfterCommit() {
+
+        StagedImage staged = stagedImage();
+
+        productService.updateProduct(edit("Gaming Laptop", 8), imageFile);
+
+        assertEquals(staged.image().url(), productRepository.findById(product.getId()).orElseThrow().getImageUrl());
+        verify(imageVariantGenerator).generate(product.getId(), staged);
+        verify(imageStore, never()).publish(any());
+        verify(imageStore, never()).discard(any());
+    }
+
+    @Test
+    void updateProduct_rolledBackEditDiscardsTheFormImage() {
+
+        StagedImage staged = stagedImage();
+
+        assertThrows(IllegalArgumentException.class, () -> productService.updateProduct(edit("Gaming Laptop", -1), imageFile));
+
+        assertNull(productRepository.findById(product.getId()).orElseThrow().getImageUrl());
+        verify(imageStore).discard(staged);
+        verifyNoInteractions(imageVariantGenerator);
+    }
+
+    private StagedImage stagedImage() {
+        StoredImage image = new StoredImage("abc", "images/abc.png", "uploads/images/abc.png");
+        StagedImage staged = new StagedImage(image, Path.of("upload-abc.part"), "image/png");
+        when(imageStore.stage(imageFile)).thenReturn(staged);
+        return staged;
+    }
+
+    private ProductDTO edit(String name, int stockQuantity) {
+        ProductDTO dto = new ProductDTO();
+        dto.setProductId(product.getId());
+        dto.setName(name);
+        dto.setStockQuantity(stockQuantity);
+        return dto;
+    }
+}
@@ -3,23 +3,30 @@ package com.phegondev.InventoryMgtSystem.services;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.images.ImageStore;
+import com.phegondev.InventoryMgtSystem.images.ImageVariantGenerator;
+import com.phegondev.InventoryMgtSystem.images.StagedImage;
+import com.phegondev.InventoryMgtSystem.images.StoredImage;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
 import com.phegondev.InventoryMgtSystem.models.Category;
 import com.phegondev.InventoryMgtSystem.models.Product;
 import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.projections.ProductView;
 import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
 import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
 import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.search.ProductSearchIndex;
 import com.phegondev.InventoryMgtSystem.services.impl.ProductServiceImpl;
+import com.phegondev.InventoryMgtSystem.services.impl.StockLedger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.modelmapper.ModelMapper;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.Optional;
-import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,12 +43,24 @@ class ProductServiceTest {
     @Mock
     private SupplierRepository supplierRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private DtoMapper dtoMapper = new DtoMapper();
+
+    @Spy
+    private ProductSearchIndex productSearchIndex = new ProductSearchIndex();
 
     @Mock
     private MultipartFile imageFile;
 
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private ImageVariantGenerator imageVariantGenerator;
+
+    @Mock
+    private StockLedger stockLedger;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -82,6 +101,64 @@ class ProductServiceTest {
         assertEquals("Product successfully saved", response.getMessage());
     }
 
+    // ----------------------------------------------------------
+    // UPDATE PRODUCT - a new image drops the old variants and queues new ones
+    // ----------------------------------------------------------
+    @Test
+    void updateProduct_newImage_resetsVariantsAndQueuesRendering() {
+
+        Product product = Product.builder()
+                .id(10L)
+                .name("Phone")
+                .sku("P001")
+                .imageUrl("uploads/images/old.png")
+                .thumbnailUrl("uploads/images/old-thumb.jpg")
+                .mediumImageUrl("uploads/images/old-medium.jpg")
+                .build();
+        StoredImage image = new StoredImage("abc", "images/abc.png", "uploads/images/abc.png");
+        StagedImage staged = new StagedImage(image, Path.of("upload-abc.part"), "image/png");
+
+        when(productRepository.findWithCategoryAndSupplierById(10L)).thenReturn(Optional.of(product));
+        when(imageFile.isEmpty()).thenReturn(false);
+        when(imageStore.stage(imageFile)).thenReturn(staged);
+
+        ProductDTO dto = new ProductDTO();
+        dto.setProductId(10L);
+        productService.updateProduct(dto, imageFile);
+
+        assertEquals("uploads/images/abc.png", product.getImageUrl());
+        assertNull(product.getThumbnailUrl());
+        assertNull(product.getMediumImageUrl());
+
+        InOrder order = inOrder(productRepository, imageVariantGenerator);
+        order.verify(productRepository).save(product);
+        order.verify(imageVariantGenerator).generate(10L, staged);
+        verify(imageStore, never()).publish(any());
+    }
+
+    // ----------------------------------------------------------
+    // UPDATE PRODUCT - stock goes through the ledger, not the entity save
+    // ----------------------------------------------------------
+    @Test
+    void updateProduct_stock_setThroughLedger() {
+
+        Product product = Product.builder().id(10L).name("Phone").sku("P001").stockQuantity(3).build();
+        when(productRepository.findWithCategoryAndSupplierById(10L)).thenReturn(Optional.of(product));
+
+        ProductDTO dto = new ProductDTO();
+        dto.setProductId(10L);
+        dto.setName("Smartphone");
+        dto.setStockQuantity(7);
+        productService.updateProduct(dto, null);
+
+        assertEquals("Smartphone", product.getName());
+        assertEquals(3, product.getStockQuantity());
+
+        InOrder order = inOrder(productRepository, stockLedger);
+        order.verify(productRepository).save(product);
+        order.verify(stockLedger).set(10L, 7);
+    }
+
     // ----------------------------------------------------------
     // GET PRODUCT BY ID
     // ----------------------------------------------------------
@@ -94,12 +171,7 @@ class ProductServiceTest {
                 .sku("P001")
                 .build();
 
-        ProductDTO mappedDto = new ProductDTO();
-        mappedDto.setId(10L);
-        mappedDto.setName("Phone");
-
-        when(productRepository.findById(10L)).thenReturn(Optional.of(product));
-        when(modelMapper.map(product, ProductDTO.class)).thenReturn(mappedDto);
+        when(productRepository.findWithCategoryAndSupplierById(10L)).thenReturn(Optional.of(product));
 
         Response response = productService.getProductById(10L);
 
@@ -138,20 +210,17 @@ class ProductServiceTest {
                 .description("Good laptop")
                 .build();
 
-        ProductDTO dto = new ProductDTO();
-        dto.setId(1L);
-        dto.setName("Laptop");
-
-        when(productRepository.findByNameContainingOrDescriptionContaining("lap", "lap"))
-                .thenReturn(List.of(product));
-
-        when(modelMapper.map(any(), any(java.lang.reflect.Type.class)))
-                .thenReturn(List.of(dto));
+        productSearchIndex.index(product);
+        when(productRepository.findViewsByIdIn(List.of(1L)))
+                .thenReturn(List.of(new ProductView(1L, "Laptop", null, null, null, "Good laptop",
+                        null, null, null, null, null, null, null)));
 
-        Response response = productService.searchProduct("lap");
+        Response response = productService.searchProduct("lap", 0, 20);
 
         assertEquals(200, response.getStatus());
         assertEquals(1, response.getProducts().size());
+        assertEquals("Laptop", response.getProducts().get(0).getName());
+        assertEquals(1L, response.getTotalElements());
     }
 
     // ----------------------------------------------------------
@@ -160,11 +229,10 @@ class ProductServiceTest {
     @Test
     void searchProduct_notFound() {
 
-        when(productRepository.findByNameContainingOrDescriptionContaining("abc", "abc"))
-                .thenReturn(Collections.emptyList());
-
         assertThrows(NotFoundException.class, () -> {
-            productService.searchProduct("abc");
+            productService.searchProduct("abc", 0, 20);
         });
+
+        verify(productRepository, never()).findViewsByIdIn(any());
     }
 }
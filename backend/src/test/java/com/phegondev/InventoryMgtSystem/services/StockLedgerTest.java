@@ -0,0 +1,84 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.exceptions.InsufficientStockException;
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.impl.StockLedger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private MeterRegistry registry;
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        stockLedger = new StockLedger(productRepository, beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    // ----------------------------------------------------------------
+    // COUNTERS - applied changes by direction, refusals by reason
+    // ----------------------------------------------------------------
+    @Test
+    void appliedChanges_countMutationsAndUnits() {
+
+        when(productRepository.incrementStock(1L, 5)).thenReturn(1);
+        when(productRepository.decrementStock(1L, 2)).thenReturn(1);
+
+        stockLedger.receive(1L, 5);
+        stockLedger.release(1L, 2);
+
+        assertEquals(1, registry.get("inventory.stock.mutations").tag("direction", "in").counter().count());
+        assertEquals(5, registry.get("inventory.stock.units").tag("direction", "in").counter().count());
+        assertEquals(1, registry.get("inventory.stock.mutations").tag("direction", "out").counter().count());
+        assertEquals(2, registry.get("inventory.stock.units").tag("direction", "out").counter().count());
+    }
+
+    @Test
+    void refusedChanges_countByReason() {
+
+        when(productRepository.decrementStock(1L, 50)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.incrementStock(9L, 1)).thenReturn(0);
+
+        assertThrows(InsufficientStockException.class, () -> stockLedger.release(1L, 50));
+        assertThrows(NotFoundException.class, () -> stockLedger.receive(9L, 1));
+
+        assertEquals(1, registry.get("inventory.stock.rejections").tag("reason", "insufficient_stock").counter().count());
+        assertEquals(1, registry.get("inventory.stock.rejections").tag("reason", "product_not_found").counter().count());
+        assertEquals(0, registry.get("inventory.stock.mutations").tag("direction", "out").counter().count());
+    }
+
+    // ----------------------------------------------------------------
+    // SET - an edited stock count replaces the current one in place
+    // ----------------------------------------------------------------
+    @Test
+    void set_replacesStockInPlace() {
+
+        when(productRepository.setStock(1L, 12)).thenReturn(1);
+        when(productRepository.setStock(9L, 1)).thenReturn(0);
+
+        stockLedger.set(1L, 12);
+
+        assertThrows(NotFoundException.class, () -> stockLedger.set(9L, 1));
+        assertThrows(IllegalArgumentException.class, () -> stockLedger.set(1L, -1));
+        verify(productRepository).setStock(1L, 12);
+        assertEquals(1, registry.get("inventory.stock.mutations").tag("direction", "set").counter().count());
+    }
+}
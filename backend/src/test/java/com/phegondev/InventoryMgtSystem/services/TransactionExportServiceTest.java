@@ -0,0 +1,147 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.enums.ExportFormat;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.exceptions.TooManyRequestsException;
+import com.phegondev.InventoryMgtSystem.projections.TransactionExportRow;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.services.impl.TransactionExportServiceImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TransactionExportServiceImpl transactionExportService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        transactionExportService = new TransactionExportServiceImpl(transactionRepository, objectMapper, 1);
+    }
+
+    // ----------------------------------------------------------------
+    // CSV
+    // ----------------------------------------------------------------
+    @Test
+    void exportCsv_writesHeaderAndEscapedRows() throws Exception {
+
+        when(transactionRepository.streamExportRows(any())).thenReturn(Stream.of(
+                row(1L, "Laptop, 15\"", null),
+                row(2L, "Rice", "=HYPERLINK(\"x\")")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = transactionExportService.export(new TransactionFilterRequest(), ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,createdAt,transactionType,status,"));
+        assertEquals("1,2025-03-01T10:15,SALE,COMPLETED,2,20.50,7,LAP-001,\"Laptop, 15\"\"\",3,Acme,9,cashier@test.com,,",
+                lines[1]);
+        assertTrue(lines[2].endsWith(",\"'=HYPERLINK(\"\"x\"\")\""));
+    }
+
+    // ----------------------------------------------------------------
+    // NDJSON
+    // ----------------------------------------------------------------
+    @Test
+    void exportNdjson_writesOneObjectPerLine() throws Exception {
+
+        when(transactionRepository.streamExportRows(any())).thenReturn(Stream.of(
+                row(1L, "Laptop", null),
+                row(2L, "Rice", "late delivery")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(new TransactionFilterRequest(), ExportFormat.NDJSON, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("}\n"));
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(2, second.get("id").asLong());
+        assertEquals("Rice", second.get("productName").asText());
+        assertEquals("2025-03-01T10:15:00", second.get("createdAt").asText());
+        assertEquals("late delivery", second.get("note").asText());
+    }
+
+    @Test
+    void export_emptyResultStillClosesCursor() throws Exception {
+
+        AtomicBoolean closed = new AtomicBoolean();
+        when(transactionRepository.streamExportRows(any()))
+                .thenReturn(Stream.<TransactionExportRow>empty().onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, transactionExportService.export(new TransactionFilterRequest(), ExportFormat.NDJSON, out));
+
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    // ----------------------------------------------------------------
+    // CONCURRENCY
+    // ----------------------------------------------------------------
+    @Test
+    void reserveSlot_rejectsUntilASlotIsClosed() {
+
+        TransactionExportService.ExportSlot slot = transactionExportService.reserveSlot();
+        assertThrows(TooManyRequestsException.class, () -> transactionExportService.reserveSlot());
+
+        slot.close();
+        slot.close();
+        transactionExportService.reserveSlot();
+        assertThrows(TooManyRequestsException.class, () -> transactionExportService.reserveSlot());
+    }
+
+    @Test
+    void export_leavesSlotsToTheCaller() throws Exception {
+
+        when(transactionRepository.streamExportRows(any())).thenReturn(Stream.empty());
+
+        transactionExportService.export(new TransactionFilterRequest(), ExportFormat.CSV, new ByteArrayOutputStream());
+
+        transactionExportService.reserveSlot();
+        assertThrows(TooManyRequestsException.class, () -> transactionExportService.reserveSlot());
+    }
+
+    @Test
+    void exportFormat_isCaseInsensitive() {
+
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromParameter("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParameter("xlsx"));
+    }
+
+    private TransactionExportRow row(Long id, String productName, String note) {
+        return new TransactionExportRow(id, LocalDateTime.of(2025, 3, 1, 10, 15),
+                TransactionType.SALE, TransactionStatus.COMPLETED, 2, new BigDecimal("20.50"),
+                7L, "LAP-001", productName, 3L, "Acme", 9L, "cashier@test.com", null, note);
+    }
+}
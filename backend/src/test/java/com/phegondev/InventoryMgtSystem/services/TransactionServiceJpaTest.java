@@ -0,0 +1,450 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.config.SecondLevelCacheConfig;
+import com.phegondev.InventoryMgtSystem.dtos.PageResponse;
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.RollupDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionBatchRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionFilterRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionListRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
+import com.phegondev.InventoryMgtSystem.enums.RollupDimension;
+import com.phegondev.InventoryMgtSystem.enums.RollupPeriod;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.exceptions.InsufficientStockException;
+import com.phegondev.InventoryMgtSystem.mappers.DtoMapper;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.TransactionRollup;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRollupRepository;
+import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import com.phegondev.InventoryMgtSystem.security.CurrentUserResolver;
+import com.phegondev.InventoryMgtSystem.services.impl.AnalyticsServiceImpl;
+import com.phegondev.InventoryMgtSystem.services.impl.RollupLedger;
+import com.phegondev.InventoryMgtSystem.services.impl.StockLedger;
+import com.phegondev.InventoryMgtSystem.services.impl.TransactionCountCache;
+import com.phegondev.InventoryMgtSystem.services.impl.TransactionServiceImpl;
+import com.phegondev.InventoryMgtSystem.sql.SqlStatements;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Real transactions against H2: every sell commits on its own worker thread
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, TransactionServiceImpl.class, StockLedger.class, RollupLedger.class, AnalyticsServiceImpl.class,
+        TransactionCountCache.class, DtoMapper.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockledger;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+class TransactionServiceJpaTest {
+
+    private static final int INITIAL_STOCK = 1500;
+    private static final int SELLS = 2000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private CurrentUserResolver currentUserResolver;
+
+    @AfterEach
+    void cleanup() {
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        supplierRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    // ----------------------------------------------------------------
+    // CONCURRENT SELLS - no lost updates, never below zero
+    // ----------------------------------------------------------------
+    @Test
+    void concurrentSells_neverLoseUpdatesOrOversell() throws Exception {
+
+        Product product = seedProduct("SKU-RICE", INITIAL_STOCK);
+
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(product.getId());
+        request.setQuantity(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Callable<Boolean>> sells = new ArrayList<>();
+        for (int i = 0; i < SELLS; i++) {
+            sells.add(() -> {
+                try {
+                    transactionService.sell(request);
+                    return true;
+                } catch (InsufficientStockException e) {
+                    return false;
+                }
+            });
+        }
+
+        int succeeded = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(sells)) {
+                if (result.get()) succeeded++;
+            }
+        } catch (ExecutionException e) {
+            fail("Sell failed unexpectedly: " + e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(INITIAL_STOCK, succeeded);
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+        assertEquals(INITIAL_STOCK, transactionRepository.count());
+
+        // every committed sell landed in the day bucket exactly once
+        RollupDTO day = totalBucket(RollupPeriod.DAY, TransactionType.SALE, TransactionStatus.COMPLETED);
+        assertEquals(INITIAL_STOCK, day.getTransactionCount());
+        assertEquals(0, BigDecimal.TEN.multiply(BigDecimal.valueOf(INITIAL_STOCK)).compareTo(day.getTotalPrice()));
+    }
+
+    // ----------------------------------------------------------------
+    // BATCH - net stock per product, one row per item
+    // ----------------------------------------------------------------
+    @Test
+    void processBatch_appliesNetDeltasAndInsertsEveryItem() {
+
+        Product rice = seedProduct("SKU-RICE", 10);
+        Product beans = seedProduct("SKU-BEANS", 5);
+        Long supplierId = rice.getSupplier().getId();
+
+        List<TransactionRequest> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(batchItem(rice.getId(), 1, TransactionType.SALE, null));
+            items.add(batchItem(rice.getId(), 1, TransactionType.PURCHASE, supplierId));
+        }
+        items.add(batchItem(beans.getId(), 3, TransactionType.RETURN_TO_SUPPLIER, supplierId));
+
+        transactionService.processBatch(new TransactionBatchRequest(items));
+
+        assertEquals(10, productRepository.findById(rice.getId()).orElseThrow().getStockQuantity());
+        assertEquals(2, productRepository.findById(beans.getId()).orElseThrow().getStockQuantity());
+        assertEquals(items.size(), transactionRepository.count());
+
+        assertEquals(120, totalBucket(RollupPeriod.MONTH, TransactionType.SALE, TransactionStatus.COMPLETED).getTransactionCount());
+        assertEquals(120, totalBucket(RollupPeriod.MONTH, TransactionType.PURCHASE, TransactionStatus.COMPLETED).getTransactionCount());
+        assertEquals(3, totalBucket(RollupPeriod.MONTH, TransactionType.RETURN_TO_SUPPLIER, TransactionStatus.PROCESSING).getTotalProducts());
+    }
+
+    @Test
+    void processBatch_rollsBackWhenStockRunsOut() {
+
+        Product rice = seedProduct("SKU-RICE", 2);
+        Product beans = seedProduct("SKU-BEANS", 5);
+
+        List<TransactionRequest> items = List.of(
+                batchItem(beans.getId(), 5, TransactionType.SALE, null),
+                batchItem(rice.getId(), 3, TransactionType.SALE, null));
+
+        assertThrows(InsufficientStockException.class,
+                () -> transactionService.processBatch(new TransactionBatchRequest(items)));
+
+        assertEquals(5, productRepository.findById(beans.getId()).orElseThrow().getStockQuantity());
+        assertEquals(0, transactionRepository.count());
+    }
+
+    // ----------------------------------------------------------------
+    // ROLLUPS - status changes move amounts, rebuild matches incremental
+    // ----------------------------------------------------------------
+    @Test
+    void updateTransactionStatus_movesRollupBucket() {
+
+        Product rice = seedProduct("SKU-RICE", 10);
+        transactionService.sell(batchItem(rice.getId(), 4, TransactionType.SALE, null));
+        Long transactionId = transactionRepository.findAll().get(0).getId();
+
+        transactionService.updateTransactionStatus(transactionId, TransactionStatus.CANCELLED);
+        transactionService.updateTransactionStatus(transactionId, TransactionStatus.CANCELLED);
+
+        assertEquals(0, totalBucket(RollupPeriod.DAY, TransactionType.SALE, TransactionStatus.COMPLETED).getTransactionCount());
+        RollupDTO cancelled = totalBucket(RollupPeriod.DAY, TransactionType.SALE, TransactionStatus.CANCELLED);
+        assertEquals(1, cancelled.getTransactionCount());
+        assertEquals(4, cancelled.getTotalProducts());
+
+        // cancelled sales are left out of the top products
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        assertTrue(analyticsService.getTopProducts(TransactionType.SALE, month, month.plusMonths(1), 10).getRollups().isEmpty());
+    }
+
+    @Test
+    void rebuildRollups_matchesIncrementalTotals() {
+
+        Product rice = seedProduct("SKU-RICE", 100);
+        Product beans = seedProduct("SKU-BEANS", 100);
+        Long supplierId = rice.getSupplier().getId();
+
+        List<TransactionRequest> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add(batchItem(i % 2 == 0 ? rice.getId() : beans.getId(), 1 + i % 3, TransactionType.SALE, null));
+            items.add(batchItem(beans.getId(), 2, TransactionType.PURCHASE, supplierId));
+        }
+        transactionService.processBatch(new TransactionBatchRequest(items));
+        transactionService.returnToSupplier(batchItem(rice.getId(), 1, TransactionType.RETURN_TO_SUPPLIER, supplierId));
+
+        Map<String, String> incremental = rollupSnapshot();
+        analyticsService.rebuildRollups();
+
+        assertEquals(incremental, rollupSnapshot());
+
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        List<RollupDTO> topProducts = analyticsService.getTopProducts(TransactionType.SALE, month, month.plusMonths(1), 10).getRollups();
+        assertEquals(List.of(rice.getId(), beans.getId()), topProducts.stream().map(RollupDTO::getDimensionId).toList());
+        assertEquals("Product SKU-RICE", topProducts.get(0).getName());
+    }
+
+    @Test
+    void rebuildRollups_bucketsByDayAndMonth() {
+
+        Product rice = seedProduct("SKU-RICE", 100);
+        transactionService.processBatch(new TransactionBatchRequest(List.of(
+                batchItem(rice.getId(), 1, TransactionType.SALE, null),
+                batchItem(rice.getId(), 2, TransactionType.SALE, null),
+                batchItem(rice.getId(), 3, TransactionType.SALE, null))));
+
+        //history fixed by hand, which is what the rebuild is for
+        jdbcTemplate.update("update transactions set created_at = ? where total_products = 1",
+                LocalDateTime.of(2025, 2, 14, 10, 0));
+        jdbcTemplate.update("update transactions set created_at = ? where total_products = 2",
+                LocalDateTime.of(2025, 2, 28, 23, 59));
+        analyticsService.rebuildRollups();
+
+        List<RollupDTO> days = analyticsService.getSummary(RollupPeriod.DAY,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1)).getRollups();
+        assertEquals(List.of(LocalDate.of(2025, 2, 14), LocalDate.of(2025, 2, 28)),
+                days.stream().map(RollupDTO::getPeriodStart).toList());
+
+        List<RollupDTO> months = analyticsService.getSummary(RollupPeriod.MONTH,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 1)).getRollups();
+        assertEquals(1, months.size());
+        assertEquals(LocalDate.of(2025, 2, 1), months.get(0).getPeriodStart());
+        assertEquals(2L, months.get(0).getTransactionCount());
+        assertEquals(3L, months.get(0).getTotalProducts());
+    }
+
+    // ----------------------------------------------------------------
+    // READS - statement count must not depend on page depth or associations
+    // ----------------------------------------------------------------
+    @Test
+    void getAllTransactions_keysetPagesCoverFilterWithoutCounting() {
+
+        Product rice = seedProduct("SKU-RICE", 100);
+        Long supplierId = rice.getSupplier().getId();
+        List<TransactionRequest> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add(batchItem(rice.getId(), 1, i % 2 == 0 ? TransactionType.SALE : TransactionType.PURCHASE,
+                    i % 2 == 0 ? null : supplierId));
+        }
+        transactionService.processBatch(new TransactionBatchRequest(items));
+
+        TransactionFilterRequest sales = new TransactionFilterRequest();
+        sales.setTransactionType(TransactionType.SALE);
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            TransactionListRequest listRequest = new TransactionListRequest(cursor, 4, false);
+            PageResponse<TransactionDTO> page = SqlStatements.assertMaxStatements(1,
+                    () -> transactionService.getAllTransactions(listRequest, sales));
+
+            assertNull(page.getTotal());
+            page.getItems().forEach(transaction -> {
+                assertEquals(TransactionType.SALE, transaction.getTransactionType());
+                seen.add(transaction.getId());
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(15, seen.size());
+        assertEquals(4, pages);
+        assertEquals(seen.stream().sorted(Comparator.reverseOrder()).toList(), seen);
+    }
+
+    @Test
+    void getAllTransactions_totalIsCountedOnceAndPageSizeCapped() {
+
+        Product rice = seedProduct("SKU-RICE", 100);
+        List<TransactionRequest> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add(batchItem(rice.getId(), 1, TransactionType.SALE, null));
+        }
+        transactionService.processBatch(new TransactionBatchRequest(items));
+        TransactionListRequest withTotal = new TransactionListRequest(null, 10_000, true);
+
+        PageResponse<TransactionDTO> first = SqlStatements.assertMaxStatements(2,
+                () -> transactionService.getAllTransactions(withTotal, new TransactionFilterRequest()));
+        assertEquals(30L, first.getTotal());
+        assertEquals(30, first.getItems().size());
+        assertNull(first.getNextCursor());
+
+        PageResponse<TransactionDTO> again = SqlStatements.assertMaxStatements(1,
+                () -> transactionService.getAllTransactions(withTotal, new TransactionFilterRequest()));
+        assertEquals(30L, again.getTotal());
+    }
+
+    @Test
+    void getAllTransactions_rejectsMalformedCursor() {
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.getAllTransactions(
+                new TransactionListRequest("not a cursor!", 10, false), new TransactionFilterRequest()));
+    }
+
+    @Test
+    void getAllTransactionByMonthAndYear_capsPageSize() {
+
+        Product rice = seedProduct("SKU-RICE", 600);
+        List<TransactionRequest> items = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            items.add(batchItem(rice.getId(), 1, TransactionType.SALE, null));
+        }
+        transactionService.processBatch(new TransactionBatchRequest(items));
+        LocalDate today = LocalDate.now();
+
+        Response page = transactionService.getAllTransactionByMonthAndYear(
+                today.getMonthValue(), today.getYear(), 0, Integer.MAX_VALUE);
+
+        assertEquals(500, page.getTransactions().size());
+        assertEquals(501L, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertThrows(IllegalArgumentException.class, () -> transactionService.getAllTransactionByMonthAndYear(
+                today.getMonthValue(), today.getYear(), -1, 10));
+    }
+
+    @Test
+    void getAllTransactionById_loadsDetailInOneStatement() {
+
+        Product rice = seedProduct("SKU-RICE", 10);
+        transactionService.sell(batchItem(rice.getId(), 2, TransactionType.SALE, null));
+        Long transactionId = transactionRepository.findAll().get(0).getId();
+
+        TransactionDTO transaction = SqlStatements.assertMaxStatements(1,
+                () -> transactionService.getAllTransactionById(transactionId)).getTransaction();
+
+        assertEquals("Product SKU-RICE", transaction.getProduct().getName());
+        assertEquals("Cashier", transaction.getUser().getName());
+    }
+
+    //summed over the shard rows of the bucket, like the analytics endpoints read it
+    private RollupDTO totalBucket(RollupPeriod period, TransactionType type, TransactionStatus status) {
+        LocalDate start = period == RollupPeriod.DAY ? LocalDate.now() : LocalDate.now().withDayOfMonth(1);
+        return rollupRepository.findSeries(period, RollupDimension.TOTAL, 0L, start, start.plusMonths(1)).stream()
+                .filter(rollup -> rollup.getTransactionType() == type && rollup.getStatus() == status)
+                .findFirst()
+                .orElse(RollupDTO.builder().transactionCount(0L).totalProducts(0L).totalPrice(BigDecimal.ZERO).build());
+    }
+
+    private Map<String, String> rollupSnapshot() {
+        Map<String, long[]> counts = new TreeMap<>();
+        Map<String, BigDecimal> prices = new TreeMap<>();
+        for (TransactionRollup rollup : rollupRepository.findAll()) {
+            String bucket = String.join("|", rollup.getPeriod().name(), rollup.getPeriodStart().toString(),
+                    rollup.getDimension().name(), String.valueOf(rollup.getDimensionId()),
+                    rollup.getTransactionType().name(), rollup.getStatus().name());
+            long[] totals = counts.computeIfAbsent(bucket, key -> new long[2]);
+            totals[0] += rollup.getTransactionCount();
+            totals[1] += rollup.getTotalProducts();
+            prices.merge(bucket, rollup.getTotalPrice(), BigDecimal::add);
+        }
+
+        Map<String, String> snapshot = new TreeMap<>();
+        counts.forEach((bucket, totals) -> snapshot.put(bucket,
+                totals[0] + "|" + totals[1] + "|" + prices.get(bucket).stripTrailingZeros().toPlainString()));
+        return snapshot;
+    }
+
+    private Product seedProduct(String sku, int stock) {
+
+        if (userRepository.count() == 0) {
+            User user = userRepository.save(User.builder()
+                    .name("Cashier").email("cashier@test.com").password("secret")
+                    .phoneNumber("9876543210").role(UserRole.MANAGER)
+                    .build());
+            Mockito.when(currentUserResolver.currentUserReference()).thenReturn(user);
+        }
+
+        Category category = categoryRepository.save(Category.builder().name("Food").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Supplier A").contactInfo("a@test.com").build());
+        return productRepository.save(Product.builder()
+                .name("Product " + sku).sku(sku).price(BigDecimal.TEN).stockQuantity(stock)
+                .category(category).supplier(supplier)
+                .build());
+    }
+
+    private TransactionRequest batchItem(Long productId, int quantity, TransactionType type, Long supplierId) {
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(productId);
+        request.setQuantity(quantity);
+        request.setTransactionType(type);
+        request.setSupplierId(supplierId);
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package com.phegondev.InventoryMgtSystem.sql;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// whole requests through the filter chain against H2, the same context as MetricsEndpointTest;
+// the data spreads over several categories and suppliers so an N+1 would cost one statement each
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@WithMockUser(authorities = "ADMIN")
+class SqlBudgetEndpointTest {
+
+    private static final int PRODUCTS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .name("Cashier").email("cashier@test.com").password("secret")
+                .phoneNumber("9876543210").role(UserRole.MANAGER)
+                .build());
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Category category = categoryRepository.save(Category.builder().name("Category " + i).build());
+            Supplier supplier = supplierRepository.save(Supplier.builder()
+                    .name("Supplier " + i).contactInfo("s" + i + "@test.com").build());
+            products.add(Product.builder()
+                    .name("Product " + i).sku("SKU-" + i).price(BigDecimal.TEN).stockQuantity(5)
+                    .category(category).supplier(supplier)
+                    .build());
+        }
+        productRepository.saveAll(products);
+
+        transaction = transactionRepository.save(Transaction.builder()
+                .totalProducts(2).totalPrice(new BigDecimal("20.00"))
+                .transactionType(TransactionType.PURCHASE).status(TransactionStatus.COMPLETED)
+                .product(products.get(0)).supplier(products.get(0).getSupplier()).user(user)
+                .build());
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        supplierRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    // ----------------------------------------------------------------
+    // BUDGETS - the whole request, filters and serialisation included
+    // ----------------------------------------------------------------
+    @Test
+    void productList_isOneStatementWhateverThePageHolds() throws Exception {
+
+        try (SqlStatements statements = SqlStatements.track()) {
+            mockMvc.perform(get("/api/products/all").param("size", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(PRODUCTS))
+                    .andExpect(jsonPath("$.items[0].supplierName").exists())
+                    .andExpect(header().doesNotExist(SqlBudgetHeaderAdvice.HEADER));
+            statements.assertAtMost(1);
+        }
+    }
+
+    @Test
+    void transactionDetail_isOneStatement() throws Exception {
+
+        try (SqlStatements statements = SqlStatements.track()) {
+            mockMvc.perform(get("/api/transactions/{id}", transaction.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transaction.product.name").value("Product 0"))
+                    .andExpect(jsonPath("$.transaction.supplier.name").value("Supplier 0"))
+                    .andExpect(jsonPath("$.transaction.user.name").value("Cashier"))
+                    .andExpect(header().doesNotExist(SqlBudgetHeaderAdvice.HEADER));
+            statements.assertAtMost(1);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.phegondev.InventoryMgtSystem.sql;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlBudgetFilterTest {
+
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+    private final SqlBudgetFilter filter = new SqlBudgetFilter(3);
+    private final SqlBudgetHeaderAdvice advice = new SqlBudgetHeaderAdvice(filter);
+
+    // ----------------------------------------------------------------
+    // HEADER - only requests already over budget are flagged
+    // ----------------------------------------------------------------
+    @Test
+    void overBudget_flagsResponse() throws Exception {
+
+        MockHttpServletResponse response = handle(5);
+
+        assertEquals("5", response.getHeader(SqlBudgetHeaderAdvice.HEADER));
+    }
+
+    @Test
+    void withinBudget_leavesResponseAlone() throws Exception {
+
+        MockHttpServletResponse response = handle(3);
+
+        assertNull(response.getHeader(SqlBudgetHeaderAdvice.HEADER));
+    }
+
+    // ----------------------------------------------------------------
+    // SCOPES - nested scopes both count, nothing leaks past the request
+    // ----------------------------------------------------------------
+    @Test
+    void nestedScopes_countTowardsEveryOpenScope() {
+
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            inspector.inspect("select 1");
+            try (SqlStatementCounter.Scope inner = SqlStatementCounter.open()) {
+                inspector.inspect("select 2");
+                assertEquals(1, inner.count());
+            }
+            inspector.inspect("select 3");
+            assertEquals(3, outer.count());
+        }
+
+        try (SqlStatementCounter.Scope after = SqlStatementCounter.open()) {
+            assertEquals(0, after.count());
+        }
+    }
+
+    private MockHttpServletResponse handle(int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions/all");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MethodParameter returnType = new MethodParameter(Object.class.getMethod("toString"), -1);
+
+        // stands in for the controller: queries, then writes its body through the advice
+        FilterChain chain = (servletRequest, servletResponse) -> {
+            for (int i = 0; i < statements; i++) {
+                inspector.inspect("select " + i);
+            }
+            ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+            advice.beforeBodyWrite("body", returnType,
+                    MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                    new ServletServerHttpRequest(request), serverResponse);
+            serverResponse.flush();
+        };
+        filter.doFilter(request, response, chain);
+
+        assertNull(request.getAttribute(SqlBudgetFilter.SCOPE_ATTRIBUTE));
+        return response;
+    }
+}
@@ -0,0 +1,54 @@
+package com.phegondev.InventoryMgtSystem.sql;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for tests, counted by {@link SqlStatementCounter} so they see
+ * exactly what the request filter sees in production, lazy loads and flushes
+ * included. Wrap a single call:
+ * <pre>
+ * List&lt;Product&gt; products = SqlStatements.assertMaxStatements(1, () -&gt; repository.findAll());
+ * </pre>
+ * or, for code that throws or returns nothing, such as a MockMvc request:
+ * <pre>
+ * try (SqlStatements statements = SqlStatements.track()) {
+ *     mockMvc.perform(get("/api/products/1")).andExpect(status().isOk());
+ *     statements.assertAtMost(3);
+ * }
+ * </pre>
+ */
+public final class SqlStatements implements AutoCloseable {
+
+    private final SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+
+    private SqlStatements() {
+    }
+
+    public static SqlStatements track() {
+        return new SqlStatements();
+    }
+
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        try (SqlStatements statements = track()) {
+            T result = action.get();
+            statements.assertAtMost(max);
+            return result;
+        }
+    }
+
+    public int count() {
+        return scope.count();
+    }
+
+    public void assertAtMost(int max) {
+        assertTrue(scope.count() <= max,
+                () -> "expected at most " + max + " SQL statements but " + scope.count() + " were issued");
+    }
+
+    @Override
+    public void close() {
+        scope.close();
+    }
+}
@@ -0,0 +1,200 @@
+package com.phegondev.InventoryMgtSystem.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class S3BlobStorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private S3Client s3Client;
+
+    // a real presigner signs offline, pointed at a local S3-compatible stand-in
+    private S3Presigner presigner;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://localhost:9000"))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("minio", "minio123")))
+                .build();
+    }
+
+    @AfterEach
+    void cleanup() {
+        presigner.close();
+    }
+
+    // ----------------------------------------------------------------
+    // PUT - single request below the threshold, multipart above it
+    // ----------------------------------------------------------------
+    @Test
+    void put_smallFileIsOneRequestAndSourceIsRemoved() throws Exception {
+
+        Path source = file(100);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+
+        storage(1024, 32).put("images/a.png", source, "image/png");
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(request.capture(), any(RequestBody.class));
+        assertEquals("inventory", request.getValue().bucket());
+        assertEquals("images/a.png", request.getValue().key());
+        assertEquals("image/png", request.getValue().contentType());
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    void put_largeFileIsSentInParts() throws Exception {
+
+        Path source = file(100);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+        when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompleteMultipartUploadResponse.builder().build());
+
+        storage(50, 32).put("images/big.png", source, "image/png");
+
+        ArgumentCaptor<RequestBody> parts = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client, times(4)).uploadPart(any(UploadPartRequest.class), parts.capture());
+        assertEquals(4, parts.getAllValues().get(3).optionalContentLength().orElseThrow());
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertEquals("upload-1", complete.getValue().uploadId());
+        assertEquals(4, complete.getValue().multipartUpload().parts().size());
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void put_failedPartAbortsTheUpload() throws Exception {
+
+        Path source = file(100);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(500).message("boom").build());
+
+        assertThrows(S3Exception.class, () -> storage(50, 32).put("images/big.png", source, "image/png"));
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abort = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3Client).abortMultipartUpload(abort.capture());
+        assertEquals("upload-1", abort.getValue().uploadId());
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertFalse(Files.exists(source));
+    }
+
+    // ----------------------------------------------------------------
+    // EXISTS - a 404 is absent, anything else is an error
+    // ----------------------------------------------------------------
+    @Test
+    void exists_notFoundIsFalse() {
+
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(404).build());
+
+        assertFalse(storage(1024, 32).exists("images/missing.png"));
+
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(403).build());
+
+        assertThrows(S3Exception.class, () -> storage(1024, 32).exists("images/missing.png"));
+    }
+
+    // ----------------------------------------------------------------
+    // DIRECT URL - public base when configured, presigned otherwise
+    // ----------------------------------------------------------------
+    @Test
+    void directUrl_presignedAgainstTheEndpoint() {
+
+        URI url = storage(1024, 32).directUrl("images/a.png").orElseThrow();
+
+        assertEquals("localhost", url.getHost());
+        assertEquals("/inventory/images/a.png", url.getPath());
+        assertTrue(url.getQuery().contains("X-Amz-Expires=900"));
+        assertTrue(url.getQuery().contains("X-Amz-Signature="));
+    }
+
+    @Test
+    void directUrl_publicBaseIsNotSigned() {
+
+        S3BlobStorage storage = new S3BlobStorage(s3Client, presigner, "inventory", "https://cdn.example.com/", Duration.ofMinutes(15));
+
+        assertEquals(URI.create("https://cdn.example.com/images/a.png"), storage.directUrl("images/a.png").orElseThrow());
+    }
+
+    // ----------------------------------------------------------------
+    // PRESIGNED UPLOAD - type, length and checksum are part of the signature
+    // ----------------------------------------------------------------
+    @Test
+    void presignedUpload_signsTypeLengthAndChecksum() {
+
+        byte[] sha256 = HexFormat.of().parseHex("ab".repeat(32));
+        String key = "images/" + "ab".repeat(32) + ".png";
+
+        PresignedUpload upload = storage(1024, 32).presignedUpload(key, "image/png", 1234, sha256).orElseThrow();
+
+        assertEquals("/inventory/" + key, upload.url().getPath());
+        assertTrue(upload.url().getQuery().contains("content-length"));
+        assertTrue(upload.url().getQuery().contains("x-amz-checksum-sha256"));
+        assertEquals("image/png", upload.headers().get("content-type"));
+        assertEquals(Base64.getEncoder().encodeToString(sha256), upload.headers().get("x-amz-checksum-sha256"));
+        assertEquals(BlobStorage.CACHE_CONTROL.getHeaderValue(), upload.headers().get("cache-control"));
+        assertFalse(upload.headers().containsKey("host"));
+        assertFalse(upload.headers().containsKey("content-length"));
+        assertTrue(upload.expiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(14))));
+        verifyNoInteractions(s3Client);
+    }
+
+    private S3BlobStorage storage(long multipartThreshold, int partSize) {
+        return new S3BlobStorage(s3Client, presigner, "inventory", null, Duration.ofMinutes(15), multipartThreshold, partSize);
+    }
+
+    private Path file(int size) throws Exception {
+        return Files.write(directory.resolve("source.bin"), new byte[size]);
+    }
+}
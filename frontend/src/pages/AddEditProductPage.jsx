@@ -35,8 +35,8 @@ const AddEditProductPage = () => {
 
     const fetchSuppliers = async () => {
       try {
-        const suppliersData = await ApiService.getAllSuppliers();
-        setSuppliers(suppliersData.suppliers);
+        const suppliersData = await ApiService.getSupplierOptions();
+        setSuppliers(suppliersData.options);
       } catch (error) {
         showMessage(error.response?.data?.message || "Error fetching suppliers");
       }
@@ -83,6 +83,23 @@ const AddEditProductPage = () => {
     reader.readAsDataURL(file);
   };
 
+  //uploads the image to storage directly when the server hands out a presigned link,
+  //otherwise it goes with the form as before
+  const attachImage = async (formData) => {
+    const digest = await crypto.subtle.digest("SHA-256", await imageFile.arrayBuffer());
+    const sha256 = Array.from(new Uint8Array(digest), (b) => b.toString(16).padStart(2, "0")).join("");
+
+    const { imageUpload } = await ApiService.requestImageUpload(imageFile.type, imageFile.size, sha256);
+    if (!imageUpload) {
+      formData.append("imageFile", imageFile);
+      return;
+    }
+    if (!imageUpload.stored) {
+      await ApiService.uploadImage(imageUpload, imageFile);
+    }
+    formData.append("imageKey", imageUpload.key);
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
 
@@ -95,11 +112,11 @@ const AddEditProductPage = () => {
     formData.append("supplierId", supplierId);   // ✅ FIXED key
     formData.append("description", description);
 
-    if (imageFile) {
-      formData.append("imageFile", imageFile);
-    }
-
     try {
+      if (imageFile) {
+        await attachImage(formData);
+      }
+
       if (isEditing) {
         formData.append("productId", productId);
         await ApiService.updateProduct(formData);
@@ -23,11 +23,15 @@ const DashboardPage = () => {
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const transactionResponse = await ApiService.getAllTransactions();
-        if (transactionResponse.status === 200) {
+        //the month's per-day rollups, however many transactions it had
+        const from = `${selectedYear}-${String(selectedMonth).padStart(2, "0")}-01`;
+        const next = selectedMonth === 12 ? [selectedYear + 1, 1] : [selectedYear, selectedMonth + 1];
+        const to = `${next[0]}-${String(next[1]).padStart(2, "0")}-01`;
+        const summaryResponse = await ApiService.getTransactionSummary(from, to);
+        if (summaryResponse.rollups) {
             setTransactionData(
             transformTransactionData(
-              transactionResponse.transactions,
+              summaryResponse.rollups,
               selectedMonth,
               selectedYear
             )
@@ -42,7 +46,7 @@ const DashboardPage = () => {
     fetchData();
   }, [selectedMonth, selectedYear, selectedData]);
 
-  const transformTransactionData = (transactions, month, year) => {
+  const transformTransactionData = (rollups, month, year) => {
     const dailyData = {};
     //get nimber of dayas in the selected month year
     const daysInMonths = new Date(year, month, 0).getDate();
@@ -55,18 +59,13 @@ const DashboardPage = () => {
         amount: 0,
       };
     }
-    //process each transactions to accumulate daily counts, quantity and amount
-    transactions.forEach((transaction) => {
-      const transactionDate = new Date(transaction.createdAt);
-      const transactionMonth = transactionDate.getMonth() + 1;
-      const transactionYear = transactionDate.getFullYear();
-
-      //If transaction falls withing selected month and year, accumulate data for the day
-      if (transactionMonth === month && transactionYear === year) {
-        const day = transactionDate.getDate();
-        dailyData[day].count += 1;
-        dailyData[day].quantity += transaction.totalProducts;
-        dailyData[day].amount += transaction.totalPrice;
+    //each rollup is one day, type and status; add them up per day
+    rollups.forEach((rollup) => {
+      const day = parseInt(rollup.periodStart.substring(8, 10), 10);
+      if (dailyData[day]) {
+        dailyData[day].count += rollup.transactionCount;
+        dailyData[day].quantity += rollup.totalProducts;
+        dailyData[day].amount += Number(rollup.totalPrice);
       }
     });
     //convert dailyData object for chart compatibility
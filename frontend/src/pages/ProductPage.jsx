@@ -10,25 +10,24 @@ const ProductPage = () => {
 
   const navigate = useNavigate();
 
-  //Pagination Set-Up
+  //Pagination Set-Up: cursors[n] is the cursor that loads page n + 1, pages are discovered as they are visited
   const [currentPage, setCurrentPage] = useState(1);
-  const [totalPages, setTotalPages] = useState(0);
+  const [cursors, setCursors] = useState([null]);
   const itemsPerPage = 10;
 
   useEffect(() => {
     const getProducts = async () => {
       try {
-        const productData = await ApiService.getAllProducts();
-
-        if (productData.status === 200) {
-          setTotalPages(Math.ceil(productData.products.length / itemsPerPage));
+        const productData = await ApiService.getAllProducts(
+          cursors[currentPage - 1],
+          itemsPerPage
+        );
 
-          setProducts(
-            productData.products.slice(
-              (currentPage - 1) * itemsPerPage,
-              currentPage * itemsPerPage
-            )
-          );
+        if (productData.items) {
+          setProducts(productData.items);
+          if (productData.nextCursor && cursors.length === currentPage) {
+            setCursors([...cursors, productData.nextCursor]);
+          }
         }
       } catch (error) {
         showMessage(
@@ -90,10 +89,12 @@ const ProductPage = () => {
                   </div>
                 )}
 
+                {/* thumbnail once it has been rendered, the original until then */}
                 <img
                   className="product-image"
-                  src={`http://localhost:5050/${product.imageUrl}`}
+                  src={`http://localhost:5050/${product.thumbnailUrl || product.imageUrl}`}
                   alt={product.name}
+                  loading="lazy"
                 />
 
                 <div className="product-info">
@@ -127,7 +128,7 @@ const ProductPage = () => {
 
       <PaginationComponent
         currentPage={currentPage}
-        totalPages={totalPages}
+        totalPages={cursors.length}
         onPageChange={setCurrentPage}
       />
     </Layout>
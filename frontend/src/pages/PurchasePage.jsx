@@ -15,10 +15,10 @@ const PurchasePage = () => {
   useEffect(() => {
     const fetchproductsAndSuppliers = async () => {
       try {
-        const productData = await ApiService.getAllProducts();
-        const supplierData = await ApiService.getAllSuppliers();
-        setProducts(productData.products);
-        setSuppliers(supplierData.suppliers);
+        const productData = await ApiService.getProductOptions();
+        const supplierData = await ApiService.getSupplierOptions();
+        setProducts(productData.options);
+        setSuppliers(supplierData.options);
       } catch (error) {
         showMessage(
           error.response?.data?.message || "Error Getting Products: " + error
@@ -13,8 +13,8 @@ const SellPage = () => {
   useEffect(() => {
     const fetchProducts = async () => {
       try {
-        const productData = await ApiService.getAllProducts();
-        setProducts(productData.products);
+        const productData = await ApiService.getProductOptions();
+        setProducts(productData.options);
       } catch (error) {
         showMessage(
           error.response?.data?.message || "Error Getting Products: " + error
@@ -12,25 +12,25 @@ const TransactionsPage = () => {
 
   const navigate = useNavigate();
 
-  //Pagination Set-Up
+  //Pagination Set-Up: cursors[n] is the cursor that loads page n + 1, pages are discovered as they are visited
   const [currentPage, setCurrentPage] = useState(1);
-  const [totalPages, setTotalPages] = useState(0);
+  const [cursors, setCursors] = useState([null]);
   const itemsPerPage = 10;
 
   useEffect(() => {
     const getTransactions = async () => {
       try {
-        const transactionData = await ApiService.getAllTransactions(valueToSearch);
-
-        if (transactionData.status === 200) {
-          setTotalPages(Math.ceil(transactionData.transactions.length / itemsPerPage));
+        const transactionData = await ApiService.getAllTransactions(
+          valueToSearch,
+          cursors[currentPage - 1],
+          itemsPerPage
+        );
 
-          setTransactions(
-            transactionData.transactions.slice(
-              (currentPage - 1) * itemsPerPage,
-              currentPage * itemsPerPage
-            )
-          );
+        if (transactionData.items) {
+          setTransactions(transactionData.items);
+          if (transactionData.nextCursor && cursors.length === currentPage) {
+            setCursors([...cursors, transactionData.nextCursor]);
+          }
         }
       } catch (error) {
         showMessage(
@@ -58,6 +58,7 @@ const TransactionsPage = () => {
     console.log("Searcxh hit")
     console.log("FILTER IS: " + filter)
     setCurrentPage(1)
+    setCursors([null])
     setValueToSearch(filter)
   }
 
@@ -118,7 +119,7 @@ const TransactionsPage = () => {
 
       <PaginationComponent
       currentPage={currentPage}
-      totalPages={totalPages}
+      totalPages={cursors.length}
       onPageChange={setCurrentPage}
       />
     </Layout>
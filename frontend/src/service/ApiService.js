@@ -124,6 +124,21 @@ export default class ApiService {
         return response.data;
     }
 
+    //a presigned PUT for the image, or no imageUpload when the server takes the file with the form
+    static async requestImageUpload(contentType, size, sha256) {
+        const response = await axios.post(`${this.BASE_URL}/products/image-uploads`, {contentType, size, sha256}, {
+            headers: this.getHeader()
+        })
+        return response.data;
+    }
+
+    //straight to storage: the signed headers only, the bucket must not see our Authorization header
+    static async uploadImage(imageUpload, file) {
+        await axios.put(imageUpload.uploadUrl, file, {
+            headers: imageUpload.headers
+        })
+    }
+
     static async updateProduct(formData) {
 
         const response = await axios.put(`${this.BASE_URL}/products/update`, formData, {
@@ -135,8 +150,18 @@ export default class ApiService {
         return response.data;
     }
 
-    static async getAllProducts() {
+    // one page: {items, nextCursor, total}
+    static async getAllProducts(cursor, size) {
         const response = await axios.get(`${this.BASE_URL}/products/all`, {
+            headers: this.getHeader(),
+            params: {cursor, size}
+        });
+        return response.data;
+    }
+
+    // id and name of every product, for dropdowns
+    static async getProductOptions() {
+        const response = await axios.get(`${this.BASE_URL}/products/options`, {
             headers: this.getHeader()
         });
         return response.data;
@@ -219,6 +244,14 @@ export default class ApiService {
     }
 
 
+    // id and name of every supplier, for dropdowns
+    static async getSupplierOptions() {
+        const response = await axios.get(`${this.BASE_URL}/suppliers/options`, {
+            headers: this.getHeader()
+        })
+        return response.data;
+    }
+
     static async getSupplierById(supplierId) {
         const response = await axios.get(`${this.BASE_URL}/suppliers/${supplierId}`, {
             headers: this.getHeader()
@@ -269,10 +302,20 @@ export default class ApiService {
         return response.data;
     }
 
-    static async getAllTransactions(filter) {
+    // one page, newest first: {items, nextCursor}; pass nextCursor back to get the following page
+    static async getAllTransactions(filter, cursor, size) {
         const response = await axios.get(`${this.BASE_URL}/transactions/all`, {
             headers: this.getHeader(),
-            params: {filter}
+            params: {filter, cursor, size}
+        })
+        return response.data;
+    }
+
+    // per-day totals by type and status from the rollups: {rollups: [{periodStart, transactionCount, ...}]}
+    static async getTransactionSummary(from, to) {
+        const response = await axios.get(`${this.BASE_URL}/analytics/summary`, {
+            headers: this.getHeader(),
+            params: {period: "DAY", from, to}
         })
         return response.data;
     }